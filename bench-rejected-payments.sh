@@ -0,0 +1,70 @@
+#!/bin/bash
+
+# Rejected Payment Burst Benchmark
+# Fires a burst of payments that are all rejected (insufficient funds and
+# unknown recipient) and reports rejection throughput
+#
+# Usage: ./bench-rejected-payments.sh [BASE_URL] [REQUESTS] [CONCURRENCY]
+#        ./bench-rejected-payments.sh --in-process [ITERATIONS] [DEPTH]
+# Example: ./bench-rejected-payments.sh http://localhost:8080/api/v1 2000 16
+#
+# Over HTTP every request pays for BCrypt, so --in-process runs
+# RejectedPaymentBenchmark (src/test) instead: BankingService.payUser on the
+# rejection path against in-memory accounts, compared with throwing a new
+# RuntimeException from the same call depth
+
+set -e
+
+if [ "$1" = "--in-process" ]; then
+    sh ./mvnw -q test-compile dependency:build-classpath -Dmdep.includeScope=test \
+        -Dmdep.outputFile=target/bench-classpath.txt
+    exec java -cp "target/test-classes:target/classes:$(cat target/bench-classpath.txt)" \
+        com.sec.app.sec_app_api.bench.RejectedPaymentBenchmark "${@:2}"
+fi
+
+# Configuration
+BASE_URL=${1:-"http://localhost:8080/api/v1"}
+REQUESTS=${2:-2000}
+CONCURRENCY=${3:-16}
+
+SENDER="burstsender$(date +%s)"
+RECIPIENT="burstrecipient$(date +%s)"
+PASSWORD="password123"
+
+# Colors for output
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+print_header() {
+    echo -e "\n${BLUE}=== $1 ===${NC}"
+}
+
+# Sends REQUESTS payments with the given body and prints status code counts and throughput
+burst() {
+    local name="$1"
+    local body="$2"
+
+    print_header "$name: $REQUESTS requests, $CONCURRENCY concurrent"
+    local start=$(date +%s.%N)
+    seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+        curl -s -o /dev/null -w '%{http_code}\n' -X POST "$BASE_URL/pay" \
+        -u "$SENDER:$PASSWORD" -H "Content-Type: application/json" -d "$body" \
+        | sort | uniq -c
+    local end=$(date +%s.%N)
+
+    awk -v n="$REQUESTS" -v s="$start" -v e="$end" 'BEGIN { printf "%.1f rejections/s\n", n / (e - s) }'
+}
+
+print_header "Preparing $SENDER (empty balance) and $RECIPIENT"
+for user in "$SENDER" "$RECIPIENT"; do
+    curl -s -o /dev/null -X POST "$BASE_URL/register" \
+        -H "Content-Type: application/json" \
+        -d "{\"username\":\"$user\",\"password\":\"$PASSWORD\"}"
+done
+
+burst "Insufficient funds" "{\"to\":\"$RECIPIENT\",\"amt\":100}"
+burst "Unknown recipient" "{\"to\":\"nobody-$RANDOM\",\"amt\":0.01}"
+
+echo -e "\nNote: every request also pays for HTTP Basic password verification; enable"
+echo "bank.timing.server-timing-header to see how much of each request that takes, or"
+echo "run with --in-process to measure the rejection path alone."
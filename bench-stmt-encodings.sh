@@ -0,0 +1,80 @@
+#!/bin/bash
+
+# Statement Encoding Benchmark
+# Compares response size and time of /stmt and /bal across JSON, CBOR and Smile,
+# with and without gzip (start the server with RESPONSE_COMPRESSION=true to
+# measure compressed sizes)
+#
+# Usage: ./bench-stmt-encodings.sh [BASE_URL] [TRANSACTIONS] [ITERATIONS]
+#        ./bench-stmt-encodings.sh --in-process [TRANSACTIONS] [ITERATIONS]
+# Example: ./bench-stmt-encodings.sh http://localhost:8080/api/v1 500 50
+#
+# Round-trip times include authentication and DynamoDB reads, so --in-process
+# runs StatementEncodingBenchmark (src/test) instead: serialization time and
+# size of a generated statement per encoding, with the mappers configured as
+# the server configures them
+
+set -e
+
+if [ "$1" = "--in-process" ]; then
+    sh ./mvnw -q test-compile dependency:build-classpath -Dmdep.includeScope=test \
+        -Dmdep.outputFile=target/bench-classpath.txt
+    exec java -cp "target/test-classes:target/classes:$(cat target/bench-classpath.txt)" \
+        com.sec.app.sec_app_api.bench.StatementEncodingBenchmark "${@:2}"
+fi
+
+# Configuration
+BASE_URL=${1:-"http://localhost:8080/api/v1"}
+TRANSACTIONS=${2:-500}
+ITERATIONS=${3:-50}
+
+USERNAME="benchuser$(date +%s)"
+PASSWORD="password123"
+AUTH="$USERNAME:$PASSWORD"
+
+# Colors for output
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+print_header() {
+    echo -e "\n${BLUE}=== $1 ===${NC}"
+}
+
+# Prints size and average time of a GET request repeated ITERATIONS times
+measure() {
+    local path="$1"
+    local accept="$2"
+    local encoding="$3"
+    local total=0
+    local size=0
+    local time=0
+
+    for ((i = 0; i < ITERATIONS; i++)); do
+        read -r size time <<< "$(curl -s -o /dev/null -u "$AUTH" \
+            -H "Accept: $accept" -H "Accept-Encoding: $encoding" \
+            -w '%{size_download} %{time_total}' "$BASE_URL$path")"
+        total=$(awk -v a="$total" -v b="$time" 'BEGIN { print a + b }')
+    done
+
+    printf "%-6s %-30s %-9s %10s bytes %10.2f ms\n" "$path" "$accept" "$encoding" "$size" \
+        "$(awk -v t="$total" -v n="$ITERATIONS" 'BEGIN { print t * 1000 / n }')"
+}
+
+print_header "Preparing $USERNAME with $TRANSACTIONS transactions"
+curl -s -o /dev/null -X POST "$BASE_URL/register" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}"
+
+for ((i = 0; i < TRANSACTIONS; i++)); do
+    curl -s -o /dev/null -X POST "$BASE_URL/fund" -u "$AUTH" \
+        -H "Content-Type: application/json" -d '{"amt":10}'
+done
+
+print_header "Results ($ITERATIONS iterations each)"
+for path in /stmt /bal; do
+    for accept in application/json application/cbor application/x-jackson-smile; do
+        for encoding in identity gzip; do
+            measure "$path" "$accept" "$encoding"
+        done
+    done
+done
@@ -0,0 +1,94 @@
+#!/bin/bash
+
+# Local Cluster
+# Runs several instances of the API on one machine in cluster mode, sharing a
+# members file so nodes can be added and removed while the others keep running
+#
+# Usage: ./run-cluster.sh start [NODES] [BASE_PORT]   start NODES instances (default 3 on 8081..)
+#        ./run-cluster.sh join PORT                   start one more instance and add it to the members
+#        ./run-cluster.sh leave PORT                  remove an instance from the members and stop it
+#        ./run-cluster.sh stop                        stop all instances
+#
+# Extra arguments for every instance (e.g. the DynamoDB endpoint) can be passed in CLUSTER_ARGS:
+#   CLUSTER_ARGS="--spring.cloud.aws.dynamodb.endpoint=http://localhost:8000" ./run-cluster.sh start
+
+set -e
+
+DIR="cluster-data"
+MEMBERS="$DIR/members.txt"
+SECRET=${CLUSTER_SECRET:-"local-cluster-secret"}
+JAR="target/sec-app-api-0.0.1-SNAPSHOT.jar"
+
+# Colors for output
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+print_header() {
+    echo -e "\n${BLUE}=== $1 ===${NC}"
+}
+
+start_node() {
+    local port="$1"
+    java -jar "$JAR" \
+        --server.port="$port" \
+        --bank.cluster.enabled=true \
+        --bank.cluster.self="http://localhost:$port" \
+        --bank.cluster.members-file="$MEMBERS" \
+        --bank.cluster.secret="$SECRET" \
+        $CLUSTER_ARGS > "$DIR/node-$port.log" 2>&1 &
+    echo $! > "$DIR/node-$port.pid"
+    echo "Node $port started (pid $!, log $DIR/node-$port.log)"
+}
+
+stop_node() {
+    local port="$1"
+    if [ -f "$DIR/node-$port.pid" ]; then
+        kill "$(cat "$DIR/node-$port.pid")" 2>/dev/null || true
+        rm -f "$DIR/node-$port.pid"
+        echo "Node $port stopped"
+    fi
+}
+
+case "${1:-start}" in
+    start)
+        NODES=${2:-3}
+        BASE_PORT=${3:-8081}
+        mkdir -p "$DIR"
+        print_header "Building"
+        sh ./mvnw -q package -DskipTests
+        : > "$MEMBERS"
+        for ((i = 0; i < NODES; i++)); do
+            echo "http://localhost:$((BASE_PORT + i))" >> "$MEMBERS"
+        done
+        print_header "Starting $NODES nodes"
+        for ((i = 0; i < NODES; i++)); do
+            start_node $((BASE_PORT + i))
+        done
+        ;;
+    join)
+        start_node "$2"
+        # Give the node time to start before peers hand accounts over to it
+        sleep 15
+        echo "http://localhost:$2" >> "$MEMBERS"
+        echo "Node $2 added to $MEMBERS"
+        ;;
+    leave)
+        grep -v "^http://localhost:$2\$" "$MEMBERS" > "$MEMBERS.tmp" || true
+        mv "$MEMBERS.tmp" "$MEMBERS"
+        echo "Node $2 removed from $MEMBERS"
+        # Let peers pick up the change before the node goes away
+        sleep 10
+        stop_node "$2"
+        ;;
+    stop)
+        for pid in "$DIR"/node-*.pid; do
+            [ -e "$pid" ] || continue
+            port=$(basename "$pid" .pid)
+            stop_node "${port#node-}"
+        done
+        ;;
+    *)
+        echo "Unknown command: $1"
+        exit 1
+        ;;
+esac
@@ -2,6 +2,7 @@ package com.sec.app.sec_app_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for SEC App API
@@ -12,6 +13,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since May 18, 2024
  */
 @SpringBootApplication
+@EnableScheduling
 public class SecAppApiApplication {
 
 	public static void main(String[] args) {
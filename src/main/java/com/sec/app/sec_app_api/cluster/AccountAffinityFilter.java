@@ -0,0 +1,141 @@
+package com.sec.app.sec_app_api.cluster;
+
+import com.sec.app.sec_app_api.service.AccountVersionCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Routes account requests to the node that owns the account. The username is
+ * taken from the Basic credentials without checking the password; the owning
+ * node authenticates the forwarded request as usual. Ledger archival and
+ * reconciliation go to the {@link ClusterMembership#coordinator()}, so only
+ * one node writes the shared archive; registration and the other admin
+ * endpoints are served by whichever node receives them.
+ *
+ * <p>Forwarded requests are always served locally, so nodes briefly
+ * disagreeing about membership cannot bounce a request between them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccountAffinityFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountAffinityFilter.class);
+    private static final Set<String> COORDINATOR_PATHS = Set.of("/admin/archive", "/admin/reconcile");
+
+    private final ClusterMembership membership;
+    private final ClusterClient clusterClient;
+    private final AccountVersionCache versionCache;
+
+    public AccountAffinityFilter(ClusterMembership membership, ClusterClient clusterClient,
+                                 AccountVersionCache versionCache) {
+        this.membership = membership;
+        this.clusterClient = clusterClient;
+        this.versionCache = versionCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !membership.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getServletPath();
+        if (ClusterClient.VERSION_PATH.equals(path)) {
+            acceptVersion(request, response);
+            return;
+        }
+
+        String username = basicUsername(request);
+        boolean forwarded = request.getHeader(ClusterClient.FORWARDED_BY_HEADER) != null
+                && clusterClient.isTrusted(request);
+        String owner;
+        if (forwarded) {
+            owner = null;
+        } else if (COORDINATOR_PATHS.contains(path)) {
+            owner = membership.coordinator();
+        } else if (username == null || path.startsWith("/register") || path.startsWith("/admin")) {
+            owner = null;
+        } else {
+            owner = membership.ownerOf(username);
+        }
+        if (owner == null || owner.equals(membership.self())) {
+            response.setHeader(ClusterClient.NODE_HEADER, membership.self());
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            clusterClient.forward(owner, request, response);
+        } catch (IOException e) {
+            logger.warn("Could not forward {} {} to {}: {}", request.getMethod(), request.getRequestURI(), owner,
+                    e instanceof HttpTimeoutException ? "timed out" : e.toString());
+            unavailable(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(response);
+        }
+    }
+
+    private void acceptVersion(HttpServletRequest request, HttpServletResponse response) {
+        if (!"POST".equals(request.getMethod()) || !clusterClient.isTrusted(request)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        String username = request.getParameter("username");
+        String version = request.getParameter("version");
+        if (username == null || version == null) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        try {
+            versionCache.update(username, Long.parseLong(version));
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        }
+    }
+
+    private static void unavailable(HttpServletResponse response) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.resetBuffer();
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Account is temporarily unavailable\"}");
+    }
+
+    private static String basicUsername(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            return null;
+        }
+        try {
+            String credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()),
+                    StandardCharsets.UTF_8);
+            int colon = credentials.indexOf(':');
+            return colon > 0 ? credentials.substring(0, colon) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
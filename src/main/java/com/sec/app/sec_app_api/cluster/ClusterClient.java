@@ -0,0 +1,163 @@
+package com.sec.app.sec_app_api.cluster;
+
+import com.sec.app.sec_app_api.timing.RequestTimings;
+import com.sec.app.sec_app_api.timing.Span;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Node-to-node calls. A single {@link HttpClient} is shared by all requests,
+ * so connections to each peer are pooled; it prefers HTTP/2 (h2c upgrade)
+ * and multiplexes forwarded requests over one connection per peer when the
+ * peer has {@code server.http2.enabled}.
+ */
+@Component
+public class ClusterClient {
+
+    static final String FORWARDED_BY_HEADER = "X-Bank-Forwarded-By";
+    static final String SECRET_HEADER = "X-Bank-Cluster-Secret";
+    static final String NODE_HEADER = "X-Bank-Node";
+    static final String VERSION_PATH = "/internal/cluster/version";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterClient.class);
+
+    // Connection-level headers the client manages itself or HTTP/2 forbids
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "http2-settings");
+
+    // Set by this node only; copies supplied by the client must never reach the owner
+    private static final Set<String> CLUSTER_HEADERS = Set.of(
+            FORWARDED_BY_HEADER.toLowerCase(), SECRET_HEADER.toLowerCase());
+
+    private final ClusterMembership membership;
+    private HttpClient httpClient;
+
+    @Value("${bank.cluster.secret:}")
+    private String secret;
+
+    @Value("${bank.cluster.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${bank.cluster.forward-timeout:10s}")
+    private Duration forwardTimeout;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    public ClusterClient(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!membership.isEnabled()) {
+            return;
+        }
+        if (secret.isBlank()) {
+            throw new IllegalStateException("bank.cluster.secret is required when bank.cluster.enabled=true");
+        }
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    boolean isTrusted(HttpServletRequest request) {
+        List<String> values = Collections.list(request.getHeaders(SECRET_HEADER));
+        // Constant time, so response timing does not reveal how much of a guess was right
+        return values.size() == 1 && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                values.get(0).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Replays the request on {@code owner} and copies its response back. */
+    void forward(String owner, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InterruptedException {
+        String query = request.getQueryString();
+        URI uri = URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query));
+        byte[] body = request.getInputStream().readAllBytes();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(forwardTimeout)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            String lower = name.toLowerCase();
+            if (!HOP_BY_HOP.contains(lower) && !CLUSTER_HEADERS.contains(lower)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.header(name, value);
+                }
+            }
+        }
+        builder.header(FORWARDED_BY_HEADER, membership.self());
+        builder.header(SECRET_HEADER, secret);
+
+        long start = RequestTimings.start();
+        HttpResponse<byte[]> upstream;
+        try {
+            upstream = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } finally {
+            RequestTimings.stop(Span.FORWARD, start);
+        }
+
+        response.setStatus(upstream.statusCode());
+        for (Map.Entry<String, List<String>> header : upstream.headers().map().entrySet()) {
+            String name = header.getKey();
+            if (!name.startsWith(":") && !HOP_BY_HOP.contains(name.toLowerCase())) {
+                header.getValue().forEach(value -> response.addHeader(name, value));
+            }
+        }
+        if (upstream.body().length > 0) {
+            response.setContentLength(upstream.body().length);
+            response.getOutputStream().write(upstream.body());
+        }
+    }
+
+    /**
+     * Tells the owner of {@code username} about a version change made on this
+     * node (e.g. a payment crediting an account owned elsewhere), so its
+     * version cache does not answer conditional requests with stale data.
+     */
+    public void notifyVersion(String username, long version) {
+        String owner = membership.ownerOf(username);
+        if (owner == null) {
+            return;
+        }
+        URI uri = URI.create(owner + contextPath + VERSION_PATH + "?username="
+                + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&version=" + version);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(forwardTimeout)
+                .header(SECRET_HEADER, secret)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((result, error) -> {
+                    if (error != null || result.statusCode() != HttpServletResponse.SC_NO_CONTENT) {
+                        logger.warn("Could not notify {} of version {} for {}: {}", owner, version, username,
+                                error != null ? error.getMessage() : "status " + result.statusCode());
+                    }
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package com.sec.app.sec_app_api.cluster;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cluster membership and account ownership. Members are base URLs such as
+ * {@code http://10.0.0.5:8080}, taken from {@code bank.cluster.members} or,
+ * when {@code bank.cluster.members-file} is set, from that file (one per
+ * line, {@code #} comments), which is re-read so nodes can join and leave.
+ * With clustering disabled every account is local.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 0);
+
+    @Value("${bank.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${bank.cluster.self:}")
+    private String self;
+
+    @Value("${bank.cluster.members:}")
+    private List<String> staticMembers;
+
+    @Value("${bank.cluster.members-file:}")
+    private String membersFile;
+
+    @Value("${bank.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    public ClusterMembership(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (self.isBlank()) {
+            throw new IllegalStateException("bank.cluster.self is required when bank.cluster.enabled=true");
+        }
+        self = normalize(self);
+        ring = new ConsistentHashRing(loadMembers(), virtualNodes);
+        logger.info("Cluster members: {} (self {})", ring.members(), self);
+        if (!ring.members().contains(self)) {
+            logger.warn("This node ({}) is not in the member list and will own no accounts", self);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.cluster.refresh-ms:5000}")
+    public void refresh() {
+        if (!enabled || membersFile.isBlank()) {
+            return;
+        }
+        try {
+            List<String> members = loadMembers();
+            if (!members.equals(ring.members())) {
+                ConsistentHashRing previous = ring;
+                ring = new ConsistentHashRing(members, virtualNodes);
+                logger.info("Cluster membership changed: {} -> {}", previous.members(), members);
+                eventPublisher.publishEvent(new ClusterMembershipChangedEvent(previous, ring));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not reload cluster members from {}: {}", membersFile, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String ownerOf(String username) {
+        return enabled ? ring.ownerOf(username) : self;
+    }
+
+    /**
+     * Node that runs cluster-wide ledger jobs (archival, reconciliation): the
+     * first member in sorted order, so every node agrees without an election
+     * once they have read the same member list.
+     */
+    public String coordinator() {
+        return enabled && !ring.members().isEmpty() ? ring.members().get(0) : self;
+    }
+
+    public boolean isCoordinator() {
+        return Objects.equals(coordinator(), self);
+    }
+
+    public boolean isLocal(String username) {
+        return !enabled || Objects.equals(ring.ownerOf(username), self);
+    }
+
+    public boolean isLocal(String username, ConsistentHashRing inRing) {
+        return !enabled || Objects.equals(inRing.ownerOf(username), self);
+    }
+
+    private List<String> loadMembers() throws IOException {
+        List<String> members = membersFile.isBlank()
+                ? staticMembers
+                : Files.readAllLines(Path.of(membersFile));
+        return members.stream()
+                .map(String::trim)
+                .filter(m -> !m.isEmpty() && !m.startsWith("#"))
+                .map(ClusterMembership::normalize)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static String normalize(String member) {
+        return member.endsWith("/") ? member.substring(0, member.length() - 1) : member;
+    }
+}
@@ -0,0 +1,8 @@
+package com.sec.app.sec_app_api.cluster;
+
+/**
+ * Published after the ring changes. Listeners holding per-account state
+ * should drop what this node no longer owns and pick up what it now owns.
+ */
+public record ClusterMembershipChangedEvent(ConsistentHashRing previous, ConsistentHashRing current) {
+}
@@ -0,0 +1,70 @@
+package com.sec.app.sec_app_api.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable consistent hash ring. Each member is placed at a number of
+ * virtual node positions so accounts spread evenly and a join or leave only
+ * moves roughly 1/N of them.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> members;
+    private final long[] positions;
+    private final String[] owners;
+
+    public ConsistentHashRing(List<String> members, int virtualNodes) {
+        this.members = List.copyOf(members);
+        int size = members.size() * virtualNodes;
+        long[][] points = new long[size][2];
+        int i = 0;
+        for (int m = 0; m < members.size(); m++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                points[i][0] = hash(members.get(m) + "#" + v);
+                points[i][1] = m;
+                i++;
+            }
+        }
+        Arrays.sort(points, (a, b) -> Long.compare(a[0], b[0]));
+
+        this.positions = new long[size];
+        this.owners = new String[size];
+        for (i = 0; i < size; i++) {
+            positions[i] = points[i][0];
+            owners[i] = members.get((int) points[i][1]);
+        }
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    /** Returns the member owning the key, or null for an empty ring. */
+    public String ownerOf(String key) {
+        if (positions.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(positions, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    /** 64-bit FNV-1a with a murmur3 finalizer for better avalanche on short keys. */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -2,6 +2,7 @@ package com.sec.app.sec_app_api.config;
 
 import com.sec.app.sec_app_api.entity.Transaction;
 import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.timing.SdkTimingInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,7 +44,8 @@ public class DynamoDbConfig {
     @Bean
     public DynamoDbClient dynamoDbClient() {
         var clientBuilder = DynamoDbClient.builder()
-                .region(Region.of(region));
+                .region(Region.of(region))
+                .overrideConfiguration(c -> c.addExecutionInterceptor(new SdkTimingInterceptor()));
 
         // For local development with endpoint override (e.g., DynamoDB Local)
         if (!endpoint.isEmpty()) {
@@ -1,6 +1,8 @@
 package com.sec.app.sec_app_api.config;
 
 import com.sec.app.sec_app_api.repository.UserRepository;
+import com.sec.app.sec_app_api.timing.TimingPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,6 +15,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.List;
 import java.util.Optional;
 
 @Configuration
@@ -21,6 +24,9 @@ public class SecurityConfig {
 
     private final UserRepository userRepository;
 
+    @Value("${bank.admin.usernames:}")
+    private List<String> adminUsernames;
+
     public SecurityConfig(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
@@ -31,6 +37,7 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/register").permitAll()
+                .requestMatchers("/admin/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
             )
             .httpBasic(basic -> {})
@@ -43,7 +50,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimingPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     @Bean
@@ -61,7 +68,9 @@ public class SecurityConfig {
             return User.builder()
                 .username(user.getUsername())
                 .password(user.getPasswordHash())
-                .authorities("USER")
+                .authorities(adminUsernames.contains(user.getUsername())
+                        ? new String[] {"USER", "ADMIN"}
+                        : new String[] {"USER"})
                 .build();
         };
     }
@@ -0,0 +1,29 @@
+package com.sec.app.sec_app_api.config;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.repository.DynamoDbSegmentedTable;
+import com.sec.app.sec_app_api.repository.SegmentedTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+/**
+ * Segmented scan / batch write access to the users and transactions tables.
+ */
+@Configuration
+public class SegmentedTableConfig {
+
+    @Bean
+    public SegmentedTable<User> userSegmentedTable(DynamoDbEnhancedClient enhancedClient) {
+        return new DynamoDbSegmentedTable<>(enhancedClient,
+                enhancedClient.table("users", TableSchema.fromBean(User.class)), User.class);
+    }
+
+    @Bean
+    public SegmentedTable<Transaction> transactionSegmentedTable(DynamoDbEnhancedClient enhancedClient) {
+        return new DynamoDbSegmentedTable<>(enhancedClient,
+                enhancedClient.table("transactions", TableSchema.fromBean(Transaction.class)), Transaction.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sec.app.sec_app_api.controller;
+
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport;
+import com.sec.app.sec_app_api.dto.response.StandingOrderStats;
+import com.sec.app.sec_app_api.service.ArchivalService;
+import com.sec.app.sec_app_api.service.ReconciliationService;
+import com.sec.app.sec_app_api.service.StandingOrderScheduler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final ReconciliationService reconciliationService;
+    private final ArchivalService archivalService;
+    private final StandingOrderScheduler standingOrderScheduler;
+
+    public AdminController(ReconciliationService reconciliationService, ArchivalService archivalService,
+                           StandingOrderScheduler standingOrderScheduler) {
+        this.reconciliationService = reconciliationService;
+        this.archivalService = archivalService;
+        this.standingOrderScheduler = standingOrderScheduler;
+    }
+
+    @PostMapping("/reconcile")
+    public ResponseEntity<ReconciliationReport> reconcile() {
+        // A job already running is mapped to 409 by BankingExceptionHandler
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
+
+    @GetMapping("/reconcile")
+    public ResponseEntity<ReconciliationReport> lastReconciliation() {
+        ReconciliationReport report = reconciliationService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/archive")
+    public ResponseEntity<Map<String, Object>> archive() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("archived", archivalService.archiveOldTransactions());
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/orders/stats")
+    public ResponseEntity<StandingOrderStats> standingOrderStats() {
+        return ResponseEntity.ok(standingOrderScheduler.getStats());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -27,80 +28,55 @@ public class BankingController {
 
     @PostMapping("/register")
     public ResponseEntity<Map<String, String>> register(@Valid @RequestBody RegisterRequest request) {
-        try {
-            boolean success = bankservice.registerUser(request.getUsername(), request.getPassword());
-            
-            if (success) {
-                return ResponseEntity.status(HttpStatus.CREATED).build();
-            } else {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Username already exists");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-            }
-        } catch (Exception e) {
+        boolean success = bankservice.registerUser(request.getUsername(), request.getPassword());
+
+        if (success) {
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        } else {
             Map<String, String> error = new HashMap<>();
-            error.put("error", "Registration failed");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+            error.put("error", "Username already exists");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
     }
 
     @PostMapping("/fund")
-    public ResponseEntity<?> fundAccount(@Valid @RequestBody FundRequest request, Authentication auth) {
-        try {
-            String username = auth.getName();
-            Double newBalance = bankservice.fundAccount(username, request.getAmt());
-            return ResponseEntity.ok(new BalanceResponse(newBalance));
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Fund operation failed: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
-        }
+    public ResponseEntity<BalanceResponse> fundAccount(@Valid @RequestBody FundRequest request, Authentication auth) {
+        Double newBalance = bankservice.fundAccount(auth.getName(), request.getAmt());
+        return ResponseEntity.ok(new BalanceResponse(newBalance));
     }
 
     @PostMapping("/pay")
-    public ResponseEntity<?> payUser(@Valid @RequestBody PaymentRequest request, Authentication auth) {
-        try {
-            String username = auth.getName();
-            Double newBalance = bankservice.payUser(username, request.getTo(), request.getAmt());
-            return ResponseEntity.ok(new BalanceResponse(newBalance));
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            if (e.getMessage().contains("Insufficient funds")) {
-                error.put("error", "Insufficient funds");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
-            } else if (e.getMessage().contains("Recipient not found")) {
-                error.put("error", "Recipient not found");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
-            } else {
-                error.put("error", "Payment failed: " + e.getMessage());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
-            }
-        }
+    public ResponseEntity<BalanceResponse> payUser(@Valid @RequestBody PaymentRequest request, Authentication auth) {
+        // Rejections are mapped by BankingExceptionHandler
+        Double newBalance = bankservice.payUser(auth.getName(), request.getTo(), request.getAmt());
+        return ResponseEntity.ok(new BalanceResponse(newBalance));
     }
 
     @GetMapping("/bal")
-    public ResponseEntity<?> getBalance(@RequestParam(required = false) String currency, Authentication auth) {
-        try {
-            String username = auth.getName();
-            Double balance = bankservice.getBalance(username, currency);
-            return ResponseEntity.ok(new BalanceResponse(balance));
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Failed to get balance: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    public ResponseEntity<BalanceResponse> getBalance(@RequestParam(required = false) String currency,
+                                                      Authentication auth, WebRequest request) {
+        String username = auth.getName();
+        // Converted balances also depend on FX rates, so only INR balances are versioned
+        if ((currency == null || "INR".equalsIgnoreCase(currency))
+                && request.checkNotModified(versionETag("bal", username))) {
+            return null;
         }
+        Double balance = bankservice.getBalance(username, currency);
+        return ResponseEntity.ok(new BalanceResponse(balance));
     }
 
     @GetMapping("/stmt")
-    public ResponseEntity<?> getStatement(Authentication auth) {
-        try {
-            String username = auth.getName();
-            List<TransactionResponse> transactions = bankservice.getTransactionHistory(username);
-            return ResponseEntity.ok(transactions);
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Failed to get statement: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    public ResponseEntity<List<TransactionResponse>> getStatement(Authentication auth, WebRequest request) {
+        String username = auth.getName();
+        if (request.checkNotModified(versionETag("stmt", username))) {
+            return null;
         }
+        List<TransactionResponse> transactions = bankservice.getTransactionHistory(username);
+        return ResponseEntity.ok(transactions);
+    }
+
+    private String versionETag(String resource, String username) {
+        // Weak, since the same version may be served as JSON, CBOR or Smile
+        return "W/\"" + resource + "-" + bankservice.getAccountVersion(username) + "\"";
     }
 }
@@ -0,0 +1,48 @@
+package com.sec.app.sec_app_api.controller;
+
+import com.sec.app.sec_app_api.dto.request.StandingOrderRequest;
+import com.sec.app.sec_app_api.dto.response.StandingOrderResponse;
+import com.sec.app.sec_app_api.service.StandingOrderService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/orders")
+public class StandingOrderController {
+
+    private final StandingOrderService orderService;
+
+    public StandingOrderController(StandingOrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StandingOrderResponse> createOrder(@Valid @RequestBody StandingOrderRequest request,
+                                                             Authentication auth) {
+        StandingOrderResponse order = orderService.createOrder(auth.getName(), request.getTo(), request.getAmt(),
+                request.getIntervalMinutes(), request.getStartAt());
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<StandingOrderResponse>> getOrders(Authentication auth) {
+        return ResponseEntity.ok(orderService.getOrders(auth.getName()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelOrder(@PathVariable String id, Authentication auth) {
+        if (orderService.cancelOrder(auth.getName(), id)) {
+            return ResponseEntity.noContent().build();
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Standing order not found");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+}
@@ -0,0 +1,28 @@
+package com.sec.app.sec_app_api.dto.request;
+
+import lombok.Data;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+@Data
+public class StandingOrderRequest {
+    @NotBlank(message = "Recipient username is required")
+    private String to;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private Double amt;
+
+    @NotNull(message = "Interval is required")
+    @Min(value = 1, message = "Interval must be at least 1 minute")
+    @JsonProperty("interval_minutes")
+    private Long intervalMinutes;
+
+    @JsonProperty("start_at")
+    private Instant startAt; // optional, defaults to one interval from now
+}
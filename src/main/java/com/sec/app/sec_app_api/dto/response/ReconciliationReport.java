@@ -0,0 +1,44 @@
+package com.sec.app.sec_app_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReport {
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long transactionsScanned;
+    private long ledgerAccounts;
+    private long usersChecked;
+    private long driftCount;
+    private long skipped;      // accounts written to while the run was in progress, not checked
+    private boolean truncated; // true when more drifts were found than are listed
+    private List<AccountDrift> drifts;
+
+    public enum DriftType {
+        BALANCE_MISMATCH,       // sum of ledger rows differs from User.balance
+        LAST_BALANCE_MISMATCH,  // latest updatedBalance differs from User.balance
+        MISSING_LEDGER,         // non-zero balance without any ledger rows
+        ORPHAN_LEDGER           // ledger rows for a user that does not exist
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AccountDrift {
+        private String username;
+        private DriftType type;
+        private Double balance;
+        private Double ledgerSum;
+        private Double lastUpdatedBalance;
+        private long transactionCount;
+    }
+}
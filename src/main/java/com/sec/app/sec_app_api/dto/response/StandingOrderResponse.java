@@ -0,0 +1,34 @@
+package com.sec.app.sec_app_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StandingOrderResponse {
+    private String id;
+    private String to;
+    private Double amt;
+
+    @JsonProperty("interval_minutes")
+    private Long intervalMinutes;
+
+    @JsonProperty("next_run_at")
+    private Instant nextRunAt;
+
+    private String status;
+
+    @JsonProperty("run_count")
+    private Long runCount;
+
+    @JsonProperty("failure_count")
+    private Long failureCount;
+
+    @JsonProperty("last_error")
+    private String lastError;
+}
@@ -0,0 +1,22 @@
+package com.sec.app.sec_app_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StandingOrderStats {
+    private long scheduled;
+    private long executed;
+    private long failed;
+    private long suspended;
+    private long batches;
+    private long lastBatchSize;
+    private long lastBatchMillis;
+    private double executedPerSecond; // over the last completed batch
+    private Instant lastBatchAt;
+}
@@ -0,0 +1,42 @@
+package com.sec.app.sec_app_api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class StandingOrder {
+    private String username;
+    private String orderId;
+    private String recipient;
+    private Double amount;
+    private Long intervalMinutes;
+    private Instant nextRunAt;
+    private String status; // "active", "suspended" or "cancelled"
+    private Instant createdAt;
+    private Instant lastRunAt;
+    private Long runCount;
+    private Long failureCount;
+    private Long consecutiveFailures; // reset by a successful run
+    private String lastError;
+
+    @DynamoDbPartitionKey
+    public String getUsername() {
+        return username;
+    }
+
+    @DynamoDbSortKey
+    public String getOrderId() {
+        return orderId;
+    }
+}
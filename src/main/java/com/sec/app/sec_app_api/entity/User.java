@@ -20,6 +20,7 @@ public class User {
     private Double balance;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version; // bumped on every balance change, exposed as ETag
 
     @DynamoDbPartitionKey
     public String getUsername() {
@@ -0,0 +1,14 @@
+package com.sec.app.sec_app_api.exception;
+
+/**
+ * Base class for expected business rejections. These are thrown on hot paths
+ * (failed payments), so subclasses are preallocated singletons that never
+ * capture a stack trace; {@link BankingExceptionHandler} maps them to HTTP
+ * responses.
+ */
+public abstract class BankingException extends RuntimeException {
+
+    protected BankingException(String message) {
+        super(message, null, false, false);
+    }
+}
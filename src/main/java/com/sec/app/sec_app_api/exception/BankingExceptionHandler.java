@@ -0,0 +1,72 @@
+package com.sec.app.sec_app_api.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import software.amazon.awssdk.core.exception.SdkException;
+
+import java.util.Map;
+
+/**
+ * Maps exceptions thrown by the controllers to HTTP responses. Business
+ * rejections are shared instances, so their responses are built once and
+ * reused.
+ */
+@RestControllerAdvice
+public class BankingExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BankingExceptionHandler.class);
+
+    private static final ResponseEntity<Map<String, String>> INSUFFICIENT_FUNDS =
+            badRequest(InsufficientFundsException.INSTANCE);
+    private static final ResponseEntity<Map<String, String>> RECIPIENT_NOT_FOUND =
+            badRequest(RecipientNotFoundException.INSTANCE);
+    private static final ResponseEntity<Map<String, String>> USER_NOT_FOUND =
+            badRequest(UserNotFoundException.INSTANCE);
+    private static final ResponseEntity<Map<String, String>> SELF_PAYMENT =
+            badRequest(SelfPaymentException.INSTANCE);
+
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<Map<String, String>> handleInsufficientFunds(InsufficientFundsException e) {
+        return INSUFFICIENT_FUNDS;
+    }
+
+    @ExceptionHandler(RecipientNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleRecipientNotFound(RecipientNotFoundException e) {
+        return RECIPIENT_NOT_FOUND;
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleUserNotFound(UserNotFoundException e) {
+        return USER_NOT_FOUND;
+    }
+
+    @ExceptionHandler(SelfPaymentException.class)
+    public ResponseEntity<Map<String, String>> handleSelfPayment(SelfPaymentException e) {
+        return SELF_PAYMENT;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    @ExceptionHandler(MaintenanceInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleMaintenanceInProgress(MaintenanceInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(SdkException.class)
+    public ResponseEntity<Map<String, String>> handleBackendFailure(SdkException e) {
+        // Details stay in the log; they can name tables and internal endpoints
+        logger.error("DynamoDB request failed", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Request failed"));
+    }
+
+    private static ResponseEntity<Map<String, String>> badRequest(BankingException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+    }
+}
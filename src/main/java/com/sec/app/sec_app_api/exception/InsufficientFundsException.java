@@ -1,7 +1,9 @@
 package com.sec.app.sec_app_api.exception;
 
-public class InsufficientFundsException extends RuntimeException {
-    public InsufficientFundsException(String message) {
+public class InsufficientFundsException extends BankingException {
+    public static final InsufficientFundsException INSTANCE = new InsufficientFundsException("Insufficient funds");
+
+    private InsufficientFundsException(String message) {
         super(message);
     }
 }
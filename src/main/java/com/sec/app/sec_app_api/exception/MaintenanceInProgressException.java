@@ -0,0 +1,11 @@
+package com.sec.app.sec_app_api.exception;
+
+/**
+ * Another ledger maintenance job (archival, reconciliation) holds the lock.
+ */
+public class MaintenanceInProgressException extends IllegalStateException {
+
+    public MaintenanceInProgressException(String runningJob) {
+        super(runningJob + " already running");
+    }
+}
@@ -0,0 +1,9 @@
+package com.sec.app.sec_app_api.exception;
+
+public class RecipientNotFoundException extends BankingException {
+    public static final RecipientNotFoundException INSTANCE = new RecipientNotFoundException("Recipient not found");
+
+    private RecipientNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sec.app.sec_app_api.exception;
+
+public class SelfPaymentException extends BankingException {
+    public static final SelfPaymentException INSTANCE = new SelfPaymentException("Cannot pay yourself");
+
+    private SelfPaymentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sec.app.sec_app_api.exception;
+
+public class UserNotFoundException extends BankingException {
+    public static final UserNotFoundException INSTANCE = new UserNotFoundException("User not found");
+
+    private UserNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,402 @@
+package com.sec.app.sec_app_api.repository;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable file of archived transactions, sorted by username and timestamp.
+ *
+ * <p>Layout: deflate-compressed blocks of about {@value #BLOCK_SIZE} bytes,
+ * followed by a sparse index holding the first username of every block and
+ * Bloom filters over the usernames and transaction ids in the file, then a
+ * fixed-size footer. Files are memory-mapped; a lookup for an account the
+ * filter rules out touches no block, otherwise only the blocks that can
+ * contain the account are inflated.
+ */
+public final class ArchiveSegment {
+
+    public static final Comparator<Transaction> ORDER = Comparator
+            .comparing(Transaction::getUsername)
+            .thenComparing(Transaction::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Transaction::getTransactionId);
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int FOOTER_SIZE = 16;
+    private static final int MAGIC = 0x42414e32; // "BAN2"
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final String[] firstKeys;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] rawLengths;
+    private final String lastKey;
+    private final BloomFilter usernames;
+    private final BloomFilter transactionIds;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer, String[] firstKeys, long[] offsets,
+                           int[] lengths, int[] rawLengths, String lastKey,
+                           BloomFilter usernames, BloomFilter transactionIds) {
+        this.file = file;
+        this.buffer = buffer;
+        this.firstKeys = firstKeys;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.rawLengths = rawLengths;
+        this.lastKey = lastKey;
+        this.usernames = usernames;
+        this.transactionIds = transactionIds;
+    }
+
+    /**
+     * Writes the transactions, which must already be sorted by {@link #ORDER},
+     * to a new segment file. The file only appears under its final name once
+     * complete.
+     */
+    public static void write(Path file, List<Transaction> transactions) throws IOException {
+        write(file, transactions.iterator(), countAccounts(transactions), transactions.size());
+    }
+
+    /**
+     * Merges the segments into a new segment file, keeping one copy of a
+     * transaction held by several of them. Only one block per source is
+     * inflated at a time.
+     */
+    public static void merge(Path file, List<ArchiveSegment> sources) throws IOException {
+        int accounts = 0;
+        int transactions = 0;
+        PriorityQueue<BlockCursor> cursors = new PriorityQueue<>(
+                Comparator.comparing(BlockCursor::peek, ORDER));
+        for (ArchiveSegment source : sources) {
+            // Filters are sized from the key counts they were built for, so these are upper bounds
+            accounts = (int) Math.min(Integer.MAX_VALUE, (long) accounts + source.usernames.expectedKeys());
+            transactions = (int) Math.min(Integer.MAX_VALUE,
+                    (long) transactions + source.transactionIds.expectedKeys());
+            BlockCursor cursor = new BlockCursor(source);
+            if (cursor.peek() != null) {
+                cursors.add(cursor);
+            }
+        }
+
+        Iterator<Transaction> merged = new Iterator<>() {
+            private Transaction previous;
+
+            @Override
+            public boolean hasNext() {
+                // Copies of a transaction compare equal under ORDER, so they come out back to back
+                while (!cursors.isEmpty() && previous != null && ORDER.compare(cursors.peek().peek(), previous) == 0) {
+                    advance();
+                }
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                previous = advance();
+                return previous;
+            }
+
+            private Transaction advance() {
+                BlockCursor cursor = cursors.poll();
+                Transaction head = cursor.next();
+                if (cursor.peek() != null) {
+                    cursors.add(cursor);
+                }
+                return head;
+            }
+        };
+        write(file, merged, accounts, transactions);
+    }
+
+    private static void write(Path file, Iterator<Transaction> transactions, int expectedAccounts,
+                              int expectedTransactions) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        List<String> blockKeys = new ArrayList<>();
+        List<long[]> blocks = new ArrayList<>(); // offset, compressed length, raw length
+        BloomFilter usernames = BloomFilter.withExpectedKeys(expectedAccounts);
+        BloomFilter transactionIds = BloomFilter.withExpectedKeys(expectedTransactions);
+        String lastKey = "";
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(BLOCK_SIZE + 1024);
+            DataOutputStream out = new DataOutputStream(raw);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                while (transactions.hasNext()) {
+                    Transaction transaction = transactions.next();
+                    if (raw.size() == 0) {
+                        blockKeys.add(transaction.getUsername());
+                    }
+                    writeRecord(out, transaction);
+                    usernames.add(transaction.getUsername());
+                    transactionIds.add(transaction.getTransactionId());
+                    lastKey = transaction.getUsername();
+                    if (raw.size() >= BLOCK_SIZE) {
+                        blocks.add(writeBlock(channel, raw, deflater));
+                    }
+                }
+                if (raw.size() > 0) {
+                    blocks.add(writeBlock(channel, raw, deflater));
+                }
+            } finally {
+                deflater.end();
+            }
+
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            DataOutputStream index = new DataOutputStream(indexBytes);
+            index.writeInt(blocks.size());
+            for (int i = 0; i < blocks.size(); i++) {
+                index.writeUTF(blockKeys.get(i));
+                index.writeLong(blocks.get(i)[0]);
+                index.writeInt((int) blocks.get(i)[1]);
+                index.writeInt((int) blocks.get(i)[2]);
+            }
+            index.writeUTF(lastKey);
+            usernames.writeTo(index);
+            transactionIds.writeTo(index);
+
+            long indexOffset = channel.position();
+            channel.write(ByteBuffer.wrap(indexBytes.toByteArray()));
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE)
+                    .putLong(indexOffset)
+                    .putInt(indexBytes.size())
+                    .putInt(MAGIC)
+                    .flip();
+            channel.write(footer);
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int size = buffer.capacity();
+            int magic = size < FOOTER_SIZE ? 0 : buffer.getInt(size - 4);
+            if (magic != MAGIC) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            long indexOffset = buffer.getLong(size - FOOTER_SIZE);
+            int indexLength = buffer.getInt(size - FOOTER_SIZE + 8);
+
+            byte[] indexBytes = new byte[indexLength];
+            buffer.get((int) indexOffset, indexBytes);
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(indexBytes));
+            int blockCount = index.readInt();
+            String[] firstKeys = new String[blockCount];
+            long[] offsets = new long[blockCount];
+            int[] lengths = new int[blockCount];
+            int[] rawLengths = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                firstKeys[i] = index.readUTF();
+                offsets[i] = index.readLong();
+                lengths[i] = index.readInt();
+                rawLengths[i] = index.readInt();
+            }
+            String lastKey = index.readUTF();
+            BloomFilter usernames = BloomFilter.readFrom(index);
+            BloomFilter transactionIds = BloomFilter.readFrom(index);
+            return new ArchiveSegment(file, buffer, firstKeys, offsets, lengths, rawLengths, lastKey,
+                    usernames, transactionIds);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** Size of the file in bytes. */
+    public long size() {
+        return buffer.capacity();
+    }
+
+    public List<Transaction> findByUsername(String username) {
+        List<Transaction> found = new ArrayList<>();
+        if (firstKeys.length == 0 || username.compareTo(firstKeys[0]) < 0 || username.compareTo(lastKey) > 0
+                || !usernames.mightContain(username)) {
+            return found;
+        }
+
+        // An account can start in the last block whose first key sorts before it
+        int block = 0;
+        for (int lo = 0, hi = firstKeys.length - 1; lo <= hi; ) {
+            int mid = (lo + hi) >>> 1;
+            if (firstKeys[mid].compareTo(username) < 0) {
+                block = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        for (; block < firstKeys.length && firstKeys[block].compareTo(username) <= 0; block++) {
+            readBlock(block, t -> {
+                if (username.equals(t.getUsername())) {
+                    found.add(t);
+                }
+            });
+        }
+        return found;
+    }
+
+    /** False if the segment certainly does not hold the transaction; true may be a false positive. */
+    public boolean mightContainTransaction(String transactionId) {
+        return transactionIds.mightContain(transactionId);
+    }
+
+    public void forEach(Consumer<Transaction> consumer) {
+        for (int block = 0; block < firstKeys.length; block++) {
+            readBlock(block, consumer);
+        }
+    }
+
+    private void readBlock(int block, Consumer<Transaction> consumer) {
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) offsets[block], lengths[block]));
+            inflater.inflate(raw);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            while (in.available() > 0) {
+                consumer.accept(readRecord(in));
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** Reads a segment in order, one inflated block at a time. */
+    private static final class BlockCursor {
+
+        private final ArchiveSegment segment;
+        private final List<Transaction> rows = new ArrayList<>();
+        private int block;
+        private int position;
+
+        BlockCursor(ArchiveSegment segment) {
+            this.segment = segment;
+        }
+
+        Transaction peek() {
+            while (position == rows.size()) {
+                if (block == segment.firstKeys.length) {
+                    return null;
+                }
+                rows.clear();
+                position = 0;
+                segment.readBlock(block++, rows::add);
+            }
+            return rows.get(position);
+        }
+
+        Transaction next() {
+            Transaction head = peek();
+            position++;
+            return head;
+        }
+    }
+
+    private static int countAccounts(List<Transaction> sorted) {
+        int accounts = 0;
+        String previous = null;
+        for (Transaction transaction : sorted) {
+            if (!transaction.getUsername().equals(previous)) {
+                accounts++;
+                previous = transaction.getUsername();
+            }
+        }
+        return accounts;
+    }
+
+    private static long[] writeBlock(FileChannel channel, ByteArrayOutputStream raw, Deflater deflater)
+            throws IOException {
+        byte[] input = raw.toByteArray();
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 2);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+
+        long offset = channel.position();
+        channel.write(ByteBuffer.wrap(compressed.toByteArray()));
+        raw.reset();
+        return new long[] {offset, compressed.size(), input.length};
+    }
+
+    private static void writeRecord(DataOutputStream out, Transaction t) throws IOException {
+        out.writeUTF(t.getUsername());
+        out.writeUTF(t.getTransactionId());
+        writeNullable(out, t.getKind());
+        out.writeDouble(t.getAmount() == null ? Double.NaN : t.getAmount());
+        out.writeDouble(t.getUpdatedBalance() == null ? Double.NaN : t.getUpdatedBalance());
+        Instant timestamp = t.getTimestamp() == null ? Instant.EPOCH : t.getTimestamp();
+        out.writeLong(timestamp.getEpochSecond());
+        out.writeInt(timestamp.getNano());
+        writeNullable(out, t.getDescription());
+        writeNullable(out, t.getRecipient());
+    }
+
+    private static Transaction readRecord(DataInputStream in) throws IOException {
+        return Transaction.builder()
+                .username(in.readUTF())
+                .transactionId(in.readUTF())
+                .kind(readNullable(in))
+                .amount(readNullableDouble(in))
+                .updatedBalance(readNullableDouble(in))
+                .timestamp(Instant.ofEpochSecond(in.readLong(), in.readInt()))
+                .description(readNullable(in))
+                .recipient(readNullable(in))
+                .build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Double readNullableDouble(DataInputStream in) throws IOException {
+        double value = in.readDouble();
+        return Double.isNaN(value) ? null : value;
+    }
+}
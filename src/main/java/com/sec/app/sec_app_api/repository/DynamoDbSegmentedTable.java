@@ -0,0 +1,99 @@
+package com.sec.app.sec_app_api.repository;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DynamoDbSegmentedTable<T> implements SegmentedTable<T> {
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbTable<T> table;
+    private final Class<T> itemType;
+
+    public DynamoDbSegmentedTable(DynamoDbEnhancedClient enhancedClient, DynamoDbTable<T> table, Class<T> itemType) {
+        this.enhancedClient = enhancedClient;
+        this.table = table;
+        this.itemType = itemType;
+    }
+
+    @Override
+    public String tableName() {
+        return table.tableName();
+    }
+
+    @Override
+    public Class<T> itemType() {
+        return itemType;
+    }
+
+    @Override
+    public ScanPage<T> scanSegment(int segment, int totalSegments, Map<String, String> startKey, int limit) {
+        ScanEnhancedRequest.Builder request = ScanEnhancedRequest.builder()
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .limit(limit);
+        if (startKey != null && !startKey.isEmpty()) {
+            request.exclusiveStartKey(toAttributeValues(startKey));
+        }
+
+        // Only the first page is fetched; the caller resumes from lastKey
+        Page<T> page = table.scan(request.build()).iterator().next();
+        return new ScanPage<>(page.items(), fromAttributeValues(page.lastEvaluatedKey()));
+    }
+
+    @Override
+    public List<T> batchPut(List<T> items) {
+        WriteBatch.Builder<T> batch = WriteBatch.builder(itemType).mappedTableResource(table);
+        items.forEach(batch::addPutItem);
+
+        BatchWriteResult result = enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                .addWriteBatch(batch.build())
+                .build());
+        return result.unprocessedPutItemsForTable(table);
+    }
+
+    @Override
+    public List<T> batchDelete(List<T> items) {
+        WriteBatch.Builder<T> batch = WriteBatch.builder(itemType).mappedTableResource(table);
+        items.forEach(batch::addDeleteItem);
+
+        BatchWriteResult result = enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                .addWriteBatch(batch.build())
+                .build());
+        List<T> unprocessed = new ArrayList<>();
+        for (Key key : result.unprocessedDeleteItemsForTable(table)) {
+            items.stream()
+                    .filter(item -> key.equals(table.keyFrom(item)))
+                    .findFirst()
+                    .ifPresent(unprocessed::add);
+        }
+        return unprocessed;
+    }
+
+    private static Map<String, AttributeValue> toAttributeValues(Map<String, String> key) {
+        Map<String, AttributeValue> values = new HashMap<>();
+        key.forEach((name, value) -> values.put(name, AttributeValue.fromS(value)));
+        return values;
+    }
+
+    private static Map<String, String> fromAttributeValues(Map<String, AttributeValue> key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        // Both tables are keyed on string attributes only
+        Map<String, String> values = new HashMap<>();
+        key.forEach((name, value) -> values.put(name, value.s()));
+        return values;
+    }
+}
@@ -0,0 +1,37 @@
+package com.sec.app.sec_app_api.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table access used by bulk jobs: parallel segmented scans and batched writes.
+ * Start keys are opaque string maps so they can be persisted in checkpoints.
+ */
+public interface SegmentedTable<T> {
+
+    String tableName();
+
+    Class<T> itemType();
+
+    /**
+     * Reads one page of the given scan segment, resuming after {@code startKey}
+     * (null to start from the beginning).
+     */
+    ScanPage<T> scanSegment(int segment, int totalSegments, Map<String, String> startKey, int limit);
+
+    /**
+     * Writes up to 25 items in a single batch and returns the items the store
+     * did not process, which the caller is expected to retry.
+     */
+    List<T> batchPut(List<T> items);
+
+    /** Deletes up to 25 items in a single batch and returns the items that were not processed. */
+    List<T> batchDelete(List<T> items);
+
+    record ScanPage<T>(List<T> items, Map<String, String> lastKey) {
+
+        public boolean isLast() {
+            return lastKey == null || lastKey.isEmpty();
+        }
+    }
+}
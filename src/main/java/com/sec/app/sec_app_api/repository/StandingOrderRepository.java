@@ -0,0 +1,174 @@
+package com.sec.app.sec_app_api.repository;
+
+import com.sec.app.sec_app_api.entity.StandingOrder;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+public class StandingOrderRepository {
+
+    private final DynamoDbTable<StandingOrder> orderTable;
+
+    public StandingOrderRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        this.orderTable = dynamoDbEnhancedClient.table("standing-orders", TableSchema.fromBean(StandingOrder.class));
+    }
+
+    public void save(StandingOrder order) {
+        orderTable.putItem(order);
+    }
+
+    /**
+     * Saves the order only if it is still active and still due at
+     * {@code expectedNextRunAt}, so a run is claimed by exactly one node even
+     * while ownership is moving. Returns false if another node claimed it or
+     * the order was cancelled.
+     */
+    public boolean claim(StandingOrder order, Instant expectedNextRunAt) {
+        Expression condition = Expression.builder()
+                .expression("#next = :expected AND #status = :active")
+                .putExpressionName("#next", "nextRunAt")
+                .putExpressionName("#status", "status")
+                .putExpressionValue(":expected", AttributeValue.fromS(expectedNextRunAt.toString()))
+                .putExpressionValue(":active", AttributeValue.fromS("active"))
+                .build();
+        try {
+            orderTable.putItem(PutItemEnhancedRequest.builder(StandingOrder.class)
+                    .item(order)
+                    .conditionExpression(condition)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records the outcome of a run without touching {@code status}, so a cancel
+     * that lands while the payment is in flight is never overwritten. Skipped
+     * if another node has since claimed a later run. Returns the stored order
+     * after the update, or null if it was skipped.
+     */
+    public StandingOrder recordRun(StandingOrder order) {
+        StandingOrder update = StandingOrder.builder()
+                .username(order.getUsername())
+                .orderId(order.getOrderId())
+                .nextRunAt(order.getNextRunAt())
+                .lastRunAt(order.getLastRunAt())
+                .runCount(order.getRunCount())
+                .failureCount(order.getFailureCount())
+                .consecutiveFailures(order.getConsecutiveFailures())
+                .lastError(order.getLastError())
+                .build();
+        Expression condition = Expression.builder()
+                .expression("#next = :next")
+                .putExpressionName("#next", "nextRunAt")
+                .putExpressionValue(":next", AttributeValue.fromS(order.getNextRunAt().toString()))
+                .build();
+        try {
+            return orderTable.updateItem(UpdateItemEnhancedRequest.builder(StandingOrder.class)
+                    .item(update)
+                    .ignoreNulls(true)
+                    .conditionExpression(condition)
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Marks the order suspended after payments that keep failing. Only an
+     * active order still due at its current {@code nextRunAt} is suspended, so
+     * a cancel or a later run claimed by another node wins.
+     */
+    public boolean suspend(StandingOrder order) {
+        StandingOrder update = StandingOrder.builder()
+                .username(order.getUsername())
+                .orderId(order.getOrderId())
+                .status("suspended")
+                .build();
+        Expression condition = Expression.builder()
+                .expression("#next = :next AND #status = :active")
+                .putExpressionName("#next", "nextRunAt")
+                .putExpressionName("#status", "status")
+                .putExpressionValue(":next", AttributeValue.fromS(order.getNextRunAt().toString()))
+                .putExpressionValue(":active", AttributeValue.fromS("active"))
+                .build();
+        try {
+            orderTable.updateItem(UpdateItemEnhancedRequest.builder(StandingOrder.class)
+                    .item(update)
+                    .ignoreNulls(true)
+                    .conditionExpression(condition)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Marks the order cancelled, touching only its status so a concurrent run
+     * keeps its counters. Returns false if the account has no such order.
+     */
+    public boolean cancel(String username, String orderId) {
+        StandingOrder update = StandingOrder.builder()
+                .username(username)
+                .orderId(orderId)
+                .status("cancelled")
+                .build();
+        Expression exists = Expression.builder()
+                .expression("attribute_exists(#id)")
+                .putExpressionName("#id", "orderId")
+                .build();
+        try {
+            orderTable.updateItem(UpdateItemEnhancedRequest.builder(StandingOrder.class)
+                    .item(update)
+                    .ignoreNulls(true)
+                    .conditionExpression(exists)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    public Optional<StandingOrder> findById(String username, String orderId) {
+        Key key = Key.builder().partitionValue(username).sortValue(orderId).build();
+        return Optional.ofNullable(orderTable.getItem(key));
+    }
+
+    public List<StandingOrder> findByUsername(String username) {
+        Key key = Key.builder().partitionValue(username).build();
+        return orderTable.query(QueryConditional.keyEqualTo(key))
+                .items()
+                .stream()
+                .collect(Collectors.toList());
+    }
+
+    public List<StandingOrder> findAllActive() {
+        // Filtered on the server, so only active orders are sent back
+        Expression active = Expression.builder()
+                .expression("#status = :active")
+                .putExpressionName("#status", "status")
+                .putExpressionValue(":active", AttributeValue.fromS("active"))
+                .build();
+        return orderTable.scan(ScanEnhancedRequest.builder().filterExpression(active).build())
+                .items()
+                .stream()
+                .collect(Collectors.toList());
+    }
+}
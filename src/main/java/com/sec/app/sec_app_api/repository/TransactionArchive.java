@@ -0,0 +1,277 @@
+package com.sec.app.sec_app_api.repository;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.timing.RequestTimings;
+import com.sec.app.sec_app_api.timing.Span;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier of the ledger: transactions moved out of the transactions table
+ * into compressed segment files under {@code bank.archive.dir}.
+ *
+ * <p>In cluster mode the directory must be shared storage (e.g. NFS/EFS):
+ * one node writes segments and every node reads them. After each segment the
+ * writer replaces a {@value #GENERATION} marker file, before any of the
+ * segment's rows are deleted from the table; readers compare the marker's
+ * attributes at most once per {@code bank.archive.refresh-interval} and load
+ * new segments when it changed. The writer waits out that interval before
+ * deleting rows, so a row gone from the table is always visible in the archive.
+ *
+ * <p>Once there are more than {@code bank.archive.max-segments} segments,
+ * {@link #compact()} merges the smaller half of them into one, so lookups
+ * keep checking a bounded number of files. Readers drop segments whose files
+ * were removed by a compaction; their mappings stay valid until then.
+ */
+@Repository
+public class TransactionArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchive.class);
+    private static final String SUFFIX = ".seg";
+    private static final String GENERATION = "GENERATION";
+
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final Set<String> loaded = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    // Tells apart segments written by different nodes in the same millisecond
+    private final String writerId = String.format("%08x", new SecureRandom().nextInt());
+    private volatile List<Object> generation;
+    private volatile long lastChecked;
+
+    @Value("${bank.archive.dir:archive}")
+    private Path dir;
+
+    @Value("${bank.archive.refresh-interval:1s}")
+    private Duration refreshInterval;
+
+    @Value("${bank.archive.max-segments:16}")
+    private int maxSegments;
+
+    @PostConstruct
+    public void loadSegments() throws IOException {
+        Files.createDirectories(dir);
+        generation = readGeneration();
+        lastChecked = System.nanoTime();
+        int added = syncSegments(listSegments(), true);
+        if (added > 0) {
+            logger.info("Loaded {} archive segments from {}", added, dir);
+        }
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /** Picks up segments written by another node since the last check. */
+    public void refresh() {
+        lastChecked = System.nanoTime();
+        List<Object> current = readGeneration();
+        if (current == null || current.equals(generation)) {
+            return;
+        }
+        synchronized (this) {
+            if (current.equals(generation)) {
+                return;
+            }
+            try {
+                // Marker first: a segment written after it was read bumps it again
+                Set<String> files = listSegments();
+                // A compaction removes files only after bumping the marker; if it moved during the
+                // listing, the merged file may be missing from it, so keep the old segments for now
+                boolean stable = current.equals(readGeneration());
+                int added = syncSegments(files, stable);
+                if (stable) {
+                    generation = current;
+                }
+                if (added > 0) {
+                    logger.info("Loaded {} new archive segments from {}", added, dir);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not refresh archive segments from {}: {}", dir, e.getMessage());
+            }
+        }
+    }
+
+    private void refreshIfDue() {
+        if (System.nanoTime() - lastChecked >= refreshInterval.toNanos()) {
+            refresh();
+        }
+    }
+
+    /** Writes the transactions as a new segment; they must be sorted by {@link ArchiveSegment#ORDER}. */
+    public synchronized void write(List<Transaction> transactions) throws IOException {
+        Path file = newSegmentFile();
+        ArchiveSegment.write(file, transactions);
+        segments.add(ArchiveSegment.open(file));
+        loaded.add(file.getFileName().toString());
+        bumpGeneration(file);
+    }
+
+    /**
+     * Merges the smaller half of the segments into one if there are more than
+     * {@code bank.archive.max-segments}. Returns the number of segments merged.
+     */
+    public synchronized int compact() throws IOException {
+        if (segments.size() <= maxSegments) {
+            return 0;
+        }
+        List<ArchiveSegment> smallest = segments.stream()
+                .sorted(Comparator.comparingLong(ArchiveSegment::size))
+                .limit(Math.max(2, segments.size() / 2))
+                .toList();
+        Path file = newSegmentFile();
+        ArchiveSegment.merge(file, smallest);
+        segments.add(ArchiveSegment.open(file));
+        loaded.add(file.getFileName().toString());
+        segments.removeAll(smallest);
+        bumpGeneration(file);
+
+        // Only once the merged file is announced, see refresh()
+        for (ArchiveSegment segment : smallest) {
+            Files.deleteIfExists(segment.getFile());
+            loaded.remove(segment.getFile().getFileName().toString());
+        }
+        logger.info("Merged {} archive segments into {}", smallest.size(), file.getFileName());
+        return smallest.size();
+    }
+
+    private Path newSegmentFile() {
+        return dir.resolve(String.format("segment-%d-%s-%04d%s",
+                System.currentTimeMillis(), writerId, sequence.incrementAndGet(), SUFFIX));
+    }
+
+    private void bumpGeneration(Path file) throws IOException {
+        // A new file (new inode) each time, so readers notice even with coarse timestamps
+        Path tmp = dir.resolve(GENERATION + "." + writerId + ".tmp");
+        Files.writeString(tmp, file.getFileName().toString());
+        Files.move(tmp, dir.resolve(GENERATION), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        generation = readGeneration();
+    }
+
+    private Set<String> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    /** Opens listed segments not loaded yet and, if asked, drops loaded ones no longer listed. */
+    private int syncSegments(Set<String> files, boolean dropMissing) throws IOException {
+        int added = 0;
+        for (String name : files) {
+            if (!loaded.contains(name)) {
+                segments.add(ArchiveSegment.open(dir.resolve(name)));
+                loaded.add(name);
+                added++;
+            }
+        }
+        if (dropMissing) {
+            segments.removeIf(segment -> !files.contains(segment.getFile().getFileName().toString()));
+            loaded.retainAll(files);
+        }
+        return added;
+    }
+
+    private List<Object> readGeneration() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(dir.resolve(GENERATION), BasicFileAttributes.class);
+            return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Could not read archive generation in {}: {}", dir, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Archived transactions of the account, each once even if it was archived into several segments. */
+    public List<Transaction> findByUsername(String username) {
+        refreshIfDue();
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        long start = RequestTimings.start();
+        List<Transaction> found = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ArchiveSegment segment : segments) {
+            for (Transaction transaction : segment.findByUsername(username)) {
+                if (seen.add(transaction.getTransactionId())) {
+                    found.add(transaction);
+                }
+            }
+        }
+        RequestTimings.stop(Span.ARCHIVE, start);
+        return found;
+    }
+
+    /** Whether the transaction is already in some segment. */
+    public boolean contains(Transaction transaction) {
+        refreshIfDue();
+        return containedIn(segments, transaction);
+    }
+
+    /** False if no segment holds the transaction id; true may be a false positive. */
+    public boolean mightContainTransaction(String transactionId) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.mightContainTransaction(transactionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Visits every archived transaction once, skipping copies in later segments. */
+    public void forEach(Consumer<Transaction> consumer) {
+        List<ArchiveSegment> snapshot = List.copyOf(segments);
+        for (int i = 0; i < snapshot.size(); i++) {
+            List<ArchiveSegment> earlier = snapshot.subList(0, i);
+            snapshot.get(i).forEach(t -> {
+                if (!containedIn(earlier, t)) {
+                    consumer.accept(t);
+                }
+            });
+        }
+    }
+
+    private static boolean containedIn(List<ArchiveSegment> candidates, Transaction transaction) {
+        String id = transaction.getTransactionId();
+        for (ArchiveSegment segment : candidates) {
+            // The id filter rules out almost every segment without inflating a block
+            if (segment.mightContainTransaction(id) && segment.findByUsername(transaction.getUsername()).stream()
+                    .anyMatch(t -> id.equals(t.getTransactionId()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+}
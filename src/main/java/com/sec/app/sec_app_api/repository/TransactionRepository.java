@@ -1,6 +1,8 @@
 package com.sec.app.sec_app_api.repository;
 
 import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.timing.RequestTimings;
+import com.sec.app.sec_app_api.timing.Span;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -21,16 +23,26 @@ public class TransactionRepository {
     }
 
     public void save(Transaction transaction) {
-        transactionTable.putItem(transaction);
+        long start = RequestTimings.start();
+        try {
+            transactionTable.putItem(transaction);
+        } finally {
+            RequestTimings.stop(Span.TX_DB, start);
+        }
     }
 
     public List<Transaction> findByUsername(String username) {
         Key key = Key.builder().partitionValue(username).build();
         QueryConditional queryConditional = QueryConditional.keyEqualTo(key);
         
-        return transactionTable.query(queryConditional)
-                .items()
-                .stream()
-                .collect(Collectors.toList());
+        long start = RequestTimings.start();
+        try {
+            return transactionTable.query(queryConditional)
+                    .items()
+                    .stream()
+                    .collect(Collectors.toList());
+        } finally {
+            RequestTimings.stop(Span.TX_DB, start);
+        }
     }
 }
@@ -1,6 +1,8 @@
 package com.sec.app.sec_app_api.repository;
 
 import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.timing.RequestTimings;
+import com.sec.app.sec_app_api.timing.Span;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -19,13 +21,23 @@ public class UserRepository {
     }
 
     public void save(User user) {
-        userTable.putItem(user);
+        long start = RequestTimings.start();
+        try {
+            userTable.putItem(user);
+        } finally {
+            RequestTimings.stop(Span.USER_DB, start);
+        }
     }
 
     public Optional<User> findByUsername(String username) {
         Key key = Key.builder().partitionValue(username).build();
-        User user = userTable.getItem(key);
-        return Optional.ofNullable(user);
+        long start = RequestTimings.start();
+        try {
+            User user = userTable.getItem(key);
+            return Optional.ofNullable(user);
+        } finally {
+            RequestTimings.stop(Span.USER_DB, start);
+        }
     }
 
     public boolean existsByUsername(String username) {
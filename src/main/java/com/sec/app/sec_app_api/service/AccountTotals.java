@@ -0,0 +1,182 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+
+import java.time.Instant;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-account ledger aggregates kept in parallel primitive arrays with open
+ * addressing, so accumulating millions of rows allocates no per-row or
+ * per-account objects beyond the username keys themselves.
+ */
+final class AccountTotals {
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private double[] sums = new double[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private long[] lastSeconds = new long[INITIAL_CAPACITY];
+    private int[] lastNanos = new int[INITIAL_CAPACITY];
+    private String[] lastIds = new String[INITIAL_CAPACITY];
+    private double[] lastBalances = new double[INITIAL_CAPACITY];
+    private boolean[] matched = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    void add(Transaction transaction) {
+        int slot = slotFor(transaction.getUsername());
+        double amount = transaction.getAmount() == null ? 0.0 : transaction.getAmount();
+        sums[slot] += "debit".equals(transaction.getKind()) ? -amount : amount;
+        counts[slot]++;
+
+        Instant timestamp = transaction.getTimestamp() == null ? Instant.EPOCH : transaction.getTimestamp();
+        if (isLater(slot, timestamp.getEpochSecond(), timestamp.getNano(), transaction.getTransactionId())) {
+            lastSeconds[slot] = timestamp.getEpochSecond();
+            lastNanos[slot] = timestamp.getNano();
+            lastIds[slot] = transaction.getTransactionId();
+            lastBalances[slot] = transaction.getUpdatedBalance() == null ? Double.NaN : transaction.getUpdatedBalance();
+        }
+    }
+
+    /**
+     * Folds another accumulator into this one. Scan segments partition rows
+     * by username, so in practice the key sets are disjoint.
+     */
+    void merge(AccountTotals other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            String key = other.keys[i];
+            if (key == null) {
+                continue;
+            }
+            int slot = slotFor(key);
+            sums[slot] += other.sums[i];
+            counts[slot] += other.counts[i];
+            if (isLater(slot, other.lastSeconds[i], other.lastNanos[i], other.lastIds[i])) {
+                lastSeconds[slot] = other.lastSeconds[i];
+                lastNanos[slot] = other.lastNanos[i];
+                lastIds[slot] = other.lastIds[i];
+                lastBalances[slot] = other.lastBalances[i];
+            }
+        }
+    }
+
+    /** Returns the slot of the account, or -1 if it has no ledger rows. */
+    int find(String username) {
+        int mask = keys.length - 1;
+        for (int slot = spread(username.hashCode()) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(username)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    double sum(int slot) {
+        return sums[slot];
+    }
+
+    long count(int slot) {
+        return counts[slot];
+    }
+
+    double lastBalance(int slot) {
+        return lastBalances[slot];
+    }
+
+    Instant lastTimestamp(int slot) {
+        return Instant.ofEpochSecond(lastSeconds[slot], lastNanos[slot]);
+    }
+
+    /** Marks the account as backed by a user row; safe for distinct slots from several threads. */
+    void markMatched(int slot) {
+        matched[slot] = true;
+    }
+
+    void forEachUnmatched(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && !matched[i]) {
+                action.accept(i);
+            }
+        }
+    }
+
+    String key(int slot) {
+        return keys[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean isLater(int slot, long seconds, int nanos, String transactionId) {
+        if (seconds != lastSeconds[slot]) {
+            return seconds > lastSeconds[slot];
+        }
+        if (nanos != lastNanos[slot]) {
+            return nanos > lastNanos[slot];
+        }
+        return lastIds[slot] == null || (transactionId != null && transactionId.compareTo(lastIds[slot]) > 0);
+    }
+
+    private int slotFor(String username) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = spread(username.hashCode()) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(username)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = username;
+        lastSeconds[slot] = Long.MIN_VALUE;
+        lastBalances[slot] = Double.NaN;
+        size++;
+        return slot;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        double[] oldSums = sums;
+        long[] oldCounts = counts;
+        long[] oldLastSeconds = lastSeconds;
+        int[] oldLastNanos = lastNanos;
+        String[] oldLastIds = lastIds;
+        double[] oldLastBalances = lastBalances;
+
+        int capacity = oldKeys.length * 2;
+        keys = new String[capacity];
+        sums = new double[capacity];
+        counts = new long[capacity];
+        lastSeconds = new long[capacity];
+        lastNanos = new int[capacity];
+        lastIds = new String[capacity];
+        lastBalances = new double[capacity];
+        matched = new boolean[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = spread(oldKeys[i].hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            sums[slot] = oldSums[i];
+            counts[slot] = oldCounts[i];
+            lastSeconds[slot] = oldLastSeconds[i];
+            lastNanos[slot] = oldLastNanos[i];
+            lastIds[slot] = oldLastIds[i];
+            lastBalances[slot] = oldLastBalances[i];
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
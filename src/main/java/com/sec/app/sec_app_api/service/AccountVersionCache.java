@@ -0,0 +1,119 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import com.sec.app.sec_app_api.cluster.ClusterMembershipChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latest known {@code User.version} per account, so conditional requests can
+ * be answered without reading the account or its transactions. In cluster
+ * mode only accounts owned by this node are cached, since changes made
+ * elsewhere only reach the owner.
+ *
+ * <p>Some writes never pass through this cache: bulk imports run in another
+ * process, other replicas, manual fixes in the table, or a version push
+ * between nodes that was lost. Entries therefore expire after
+ * {@code bank.etag.version-ttl} and are re-read from the table. The cache
+ * holds at most {@code bank.etag.version-cache-size} accounts and evicts the
+ * least recently used one.
+ */
+@Component
+public class AccountVersionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountVersionCache.class);
+
+    private final ClusterMembership membership;
+    private Map<String, Entry> versions;
+    private long ttlNanos;
+
+    @Value("${bank.etag.version-cache-size:100000}")
+    private int maxSize;
+
+    @Value("${bank.etag.version-ttl:10s}")
+    private Duration ttl;
+
+    @Value("${bank.cluster.refresh-ms:5000}")
+    private long refreshMillis;
+
+    public AccountVersionCache(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @PostConstruct
+    public void init() {
+        versions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        if (membership.isEnabled() && ttl.toMillis() < refreshMillis) {
+            // A node keeps writing accounts it gave up until it re-reads the members file
+            logger.warn("bank.etag.version-ttl {} is shorter than bank.cluster.refresh-ms, using {}ms",
+                    ttl, refreshMillis);
+            ttl = Duration.ofMillis(refreshMillis);
+        }
+        ttlNanos = ttl.toNanos();
+    }
+
+    public Long get(String username) {
+        synchronized (versions) {
+            Entry entry = versions.get(username);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.cachedAt() > ttlNanos) {
+                versions.remove(username);
+                return null;
+            }
+            return entry.version();
+        }
+    }
+
+    public void update(String username, long version) {
+        if (!membership.isLocal(username)) {
+            return;
+        }
+        Entry fresh = new Entry(version, System.nanoTime());
+        synchronized (versions) {
+            versions.merge(username, fresh, (old, next) -> next.version() >= old.version() ? next : old);
+        }
+    }
+
+    public void evict(String username) {
+        synchronized (versions) {
+            versions.remove(username);
+        }
+    }
+
+    public void clear() {
+        synchronized (versions) {
+            versions.clear();
+        }
+    }
+
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        // Newly owned accounts may have changed while another node owned them
+        clear();
+    }
+
+    @EventListener
+    public void onTablesImported(TablesImportedEvent event) {
+        if (event.tableNames().contains("users")) {
+            clear();
+        }
+    }
+
+    private record Entry(long version, long cachedAt) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.repository.ArchiveSegment;
+import com.sec.app.sec_app_api.repository.SegmentedTable;
+import com.sec.app.sec_app_api.repository.SegmentedTable.ScanPage;
+import com.sec.app.sec_app_api.repository.TransactionArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves transactions older than {@code bank.archive.max-age} from the
+ * transactions table into {@link TransactionArchive} segments. A segment is
+ * fully written before its rows are deleted from the table, so every row is
+ * always readable from at least one tier. Rows already archived by an earlier
+ * run (a failed delete or a crash before the deletes) are only deleted, not
+ * archived again. Each run ends with {@link TransactionArchive#compact()}.
+ */
+@Service
+public class ArchivalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalService.class);
+    private static final int BATCH_SIZE = 25;
+
+    private final SegmentedTable<Transaction> transactionTable;
+    private final TransactionArchive archive;
+    private final LedgerMaintenanceLock maintenanceLock;
+    private final ClusterMembership membership;
+
+    @Value("${bank.archive.max-age:365d}")
+    private Duration maxAge;
+
+    @Value("${bank.archive.scan-segments:4}")
+    private int scanSegments;
+
+    @Value("${bank.archive.page-size:1000}")
+    private int pageSize;
+
+    @Value("${bank.archive.max-rows-per-segment:100000}")
+    private int maxRowsPerSegment;
+
+    @Value("${bank.archive.max-retries:10}")
+    private int maxRetries;
+
+    public ArchivalService(SegmentedTable<Transaction> transactionTable, TransactionArchive archive,
+                           LedgerMaintenanceLock maintenanceLock, ClusterMembership membership) {
+        this.transactionTable = transactionTable;
+        this.archive = archive;
+        this.maintenanceLock = maintenanceLock;
+        this.membership = membership;
+    }
+
+    @Scheduled(cron = "${bank.archive.cron:-}")
+    public void scheduledArchive() {
+        // In cluster mode only the coordinator runs it, the other nodes share its results
+        if (membership.isCoordinator()) {
+            archiveOldTransactions();
+        }
+    }
+
+    public long archiveOldTransactions() {
+        maintenanceLock.acquire("Archival");
+        try {
+            Instant cutoff = Instant.now().minus(maxAge);
+            archive.refresh();
+            List<Transaction> pending = new ArrayList<>();
+            long archived = 0;
+
+            for (int segment = 0; segment < scanSegments; segment++) {
+                Map<String, String> startKey = null;
+                ScanPage<Transaction> page;
+                do {
+                    page = transactionTable.scanSegment(segment, scanSegments, startKey, pageSize);
+                    for (Transaction transaction : page.items()) {
+                        if (transaction.getTimestamp() != null && transaction.getTimestamp().isBefore(cutoff)) {
+                            pending.add(transaction);
+                        }
+                    }
+                    if (pending.size() >= maxRowsPerSegment) {
+                        archived += flush(pending);
+                    }
+                    startKey = page.lastKey();
+                } while (!page.isLast());
+            }
+            archived += flush(pending);
+            compact();
+
+            logger.info("Archived {} transactions older than {} ({} segments total)",
+                    archived, cutoff, archive.segmentCount());
+            return archived;
+        } finally {
+            maintenanceLock.release();
+        }
+    }
+
+    private int flush(List<Transaction> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        pending.sort(ArchiveSegment.ORDER);
+        List<Transaction> fresh = pending.stream().filter(t -> !archive.contains(t)).toList();
+        if (fresh.size() < pending.size()) {
+            logger.info("{} transactions were already archived, deleting them from the table only",
+                    pending.size() - fresh.size());
+        }
+        if (!fresh.isEmpty()) {
+            try {
+                archive.write(fresh);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write archive segment", e);
+            }
+            if (membership.isEnabled()) {
+                // Other nodes look for new segments at most once per refresh interval
+                sleep(archive.getRefreshInterval().toMillis());
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            delete(pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())));
+        }
+        int flushed = pending.size();
+        pending.clear();
+        return flushed;
+    }
+
+    private void compact() {
+        try {
+            archive.compact();
+        } catch (IOException e) {
+            // Every row is still in the segments that were to be merged
+            logger.warn("Could not compact archive segments: {}", e.getMessage());
+        }
+    }
+
+    private void delete(List<Transaction> batch) {
+        List<Transaction> remaining = batch;
+        for (int attempt = 0; !remaining.isEmpty(); attempt++) {
+            if (attempt > maxRetries) {
+                // Rows stay in both tiers; reads de-duplicate them and the next run only deletes them
+                logger.warn("Could not delete {} archived transactions from the table", remaining.size());
+                return;
+            }
+            if (attempt > 0) {
+                sleep(Math.min(5_000L, 50L << attempt));
+            }
+            remaining = transactionTable.batchDelete(remaining);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archival interrupted", e);
+        }
+    }
+}
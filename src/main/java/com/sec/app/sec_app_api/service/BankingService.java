@@ -1,16 +1,26 @@
 package com.sec.app.sec_app_api.service;
 
+import com.sec.app.sec_app_api.cluster.ClusterClient;
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
 import com.sec.app.sec_app_api.entity.Transaction;
 import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.repository.TransactionArchive;
 import com.sec.app.sec_app_api.repository.TransactionRepository;
 import com.sec.app.sec_app_api.repository.UserRepository;
 import com.sec.app.sec_app_api.dto.response.TransactionResponse;
+import com.sec.app.sec_app_api.exception.InsufficientFundsException;
+import com.sec.app.sec_app_api.exception.RecipientNotFoundException;
+import com.sec.app.sec_app_api.exception.UserNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -20,15 +30,27 @@ public class BankingService {
     private final TransactionRepository transactionRepository;
     private final PasswordEncoder passwordEncoder;
     private final CurrencyService currencyService;
+    private final AccountVersionCache versionCache;
+    private final TransactionArchive transactionArchive;
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
     
     public BankingService(UserRepository userRepository, 
                          TransactionRepository transactionRepository,
                          PasswordEncoder passwordEncoder,
-                         CurrencyService currencyService) {
+                         CurrencyService currencyService,
+                         AccountVersionCache versionCache,
+                         TransactionArchive transactionArchive,
+                         ClusterMembership clusterMembership,
+                         ClusterClient clusterClient) {
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.transactionArchive = transactionArchive;
         this.passwordEncoder = passwordEncoder;
         this.currencyService = currencyService;
+        this.versionCache = versionCache;
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
     }
     
     public boolean registerUser(String username, String password) {
@@ -42,22 +64,25 @@ public class BankingService {
                 .balance(0.0)
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
+                .version(0L)
                 .build();
         
         userRepository.save(user);
+        versionCache.update(username, 0L);
         return true;
     }
     
     public Double fundAccount(String username, Double amount) {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
+            throw UserNotFoundException.INSTANCE;
         }
         
         User user = userOpt.get();
         Double newBalance = user.getBalance() + amount;
         user.setBalance(newBalance);
         user.setUpdatedAt(Instant.now());
+        bumpVersion(user);
         
         userRepository.save(user);
         
@@ -73,6 +98,8 @@ public class BankingService {
                 .build();
         
         transactionRepository.save(transaction);
+        // Only after the ledger row exists, so an ETag never covers a statement missing it
+        versionCache.update(username, user.getVersion());
         
         return newBalance;
     }
@@ -81,18 +108,18 @@ public class BankingService {
         // Check if sender exists and has sufficient balance
         Optional<User> fromUserOpt = userRepository.findByUsername(fromUsername);
         if (fromUserOpt.isEmpty()) {
-            throw new RuntimeException("Sender not found");
+            throw UserNotFoundException.INSTANCE;
         }
         
         User fromUser = fromUserOpt.get();
         if (fromUser.getBalance() < amount) {
-            throw new RuntimeException("Insufficient funds");
+            throw InsufficientFundsException.INSTANCE;
         }
         
         // Check if recipient exists
         Optional<User> toUserOpt = userRepository.findByUsername(toUsername);
         if (toUserOpt.isEmpty()) {
-            throw new RuntimeException("Recipient not found");
+            throw RecipientNotFoundException.INSTANCE;
         }
         
         User toUser = toUserOpt.get();
@@ -107,6 +134,9 @@ public class BankingService {
         toUser.setBalance(newToBalance);
         toUser.setUpdatedAt(Instant.now());
         
+        bumpVersion(fromUser);
+        bumpVersion(toUser);
+        
         userRepository.save(fromUser);
         userRepository.save(toUser);
         
@@ -137,6 +167,12 @@ public class BankingService {
         
         transactionRepository.save(debitTransaction);
         transactionRepository.save(creditTransaction);
+        versionCache.update(fromUsername, fromUser.getVersion());
+        versionCache.update(toUsername, toUser.getVersion());
+        
+        if (!clusterMembership.isLocal(toUsername)) {
+            clusterClient.notifyVersion(toUsername, toUser.getVersion());
+        }
         
         return newFromBalance;
     }
@@ -144,9 +180,10 @@ public class BankingService {
     public Double getBalance(String username, String currency) {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
+            throw UserNotFoundException.INSTANCE;
         }
         
+        versionCache.update(username, versionOf(userOpt.get()));
         Double balanceInINR = userOpt.get().getBalance();
         
         if (currency == null || "INR".equalsIgnoreCase(currency)) {
@@ -157,10 +194,51 @@ public class BankingService {
     }
     
     public List<TransactionResponse> getTransactionHistory(String username) {
-        List<Transaction> transactions = transactionRepository.findByUsername(username);
+        List<Transaction> transactions = new ArrayList<>(transactionRepository.findByUsername(username));
+        
+        // Merge in archived rows; a row can briefly exist in both tiers while it is being archived
+        List<Transaction> archived = transactionArchive.findByUsername(username);
+        if (!archived.isEmpty()) {
+            Set<String> hotIds = new HashSet<>();
+            transactions.forEach(t -> hotIds.add(t.getTransactionId()));
+            archived.stream()
+                    .filter(t -> !hotIds.contains(t.getTransactionId()))
+                    .forEach(transactions::add);
+        }
         
         return transactions.stream()
+                .sorted(Comparator.comparing(Transaction::getTimestamp,
+                        Comparator.nullsLast(Comparator.reverseOrder()))) // Most recent first
                 .map(t -> new TransactionResponse(t.getKind(), t.getAmount(), t.getUpdatedBalance(), t.getTimestamp()))
                 .toList();
     }
+    
+    /**
+     * Current version of the account, served from the cache when possible so
+     * conditional requests skip the account and transaction lookups.
+     */
+    public long getAccountVersion(String username) {
+        Long cached = versionCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            throw UserNotFoundException.INSTANCE;
+        }
+        
+        long version = versionOf(userOpt.get());
+        versionCache.update(username, version);
+        return version;
+    }
+    
+    private static void bumpVersion(User user) {
+        user.setVersion(versionOf(user) + 1);
+    }
+    
+    private static long versionOf(User user) {
+        // Accounts created before versioning start at 0
+        return user.getVersion() == null ? 0L : user.getVersion();
+    }
 }
@@ -0,0 +1,82 @@
+package com.sec.app.sec_app_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-file progress of a bulk export or import, persisted as JSON so an
+ * interrupted run can resume where it stopped.
+ */
+public class BulkCheckpoint {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final int totalSegments;
+    private final Map<String, Progress> progress;
+
+    private BulkCheckpoint(Path file, ObjectMapper objectMapper, int totalSegments, Map<String, Progress> progress) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.totalSegments = totalSegments;
+        this.progress = new ConcurrentHashMap<>(progress);
+    }
+
+    /**
+     * Loads the checkpoint of a run whose work is split by file rather than
+     * by scan segment, such as an import, so it can resume at any parallelism.
+     */
+    public static BulkCheckpoint load(Path file, ObjectMapper objectMapper) {
+        return load(file, objectMapper, 0);
+    }
+
+    public static BulkCheckpoint load(Path file, ObjectMapper objectMapper, int totalSegments) {
+        if (!Files.exists(file)) {
+            return new BulkCheckpoint(file, objectMapper, totalSegments, Map.of());
+        }
+        try {
+            State state = objectMapper.readValue(file.toFile(), State.class);
+            if (totalSegments > 0 && state.totalSegments() != totalSegments) {
+                throw new IllegalStateException("Checkpoint " + file + " was written with " + state.totalSegments()
+                        + " segments, cannot resume with " + totalSegments);
+            }
+            return new BulkCheckpoint(file, objectMapper, totalSegments, state.progress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read checkpoint " + file, e);
+        }
+    }
+
+    public Progress get(String name) {
+        return progress.getOrDefault(name, Progress.NONE);
+    }
+
+    public synchronized void update(String name, Progress value) {
+        progress.put(name, value);
+        try {
+            // Write-then-rename so a crash never leaves a torn checkpoint
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), new State(totalSegments, progress));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * @param bytes   committed length of the output file (export only)
+     * @param lines   number of records committed
+     * @param lastKey scan position to resume from (export only)
+     */
+    public record Progress(boolean done, long bytes, long lines, Map<String, String> lastKey) {
+        static final Progress NONE = new Progress(false, 0, 0, null);
+    }
+
+    record State(int totalSegments, Map<String, Progress> progress) {
+    }
+}
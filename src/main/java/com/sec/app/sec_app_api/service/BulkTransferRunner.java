@@ -0,0 +1,44 @@
+package com.sec.app.sec_app_api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs a bulk export or import at startup when {@code bank.bulk.mode} is set.
+ * Usually combined with {@code spring.main.web-application-type=none} so the
+ * process exits once the transfer is done.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.bulk.mode")
+public class BulkTransferRunner implements ApplicationRunner {
+
+    private final BulkTransferService bulkTransferService;
+
+    @Value("${bank.bulk.mode}")
+    private String mode;
+
+    @Value("${bank.bulk.dir:bulk-data}")
+    private Path dir;
+
+    @Value("${bank.bulk.tables:users,transactions}")
+    private List<String> tables;
+
+    public BulkTransferRunner(BulkTransferService bulkTransferService) {
+        this.bulkTransferService = bulkTransferService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        switch (mode) {
+            case "export" -> bulkTransferService.exportTables(dir, tables);
+            case "import" -> bulkTransferService.importTables(dir, tables);
+            default -> throw new IllegalArgumentException("Unknown bank.bulk.mode: " + mode);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.sec.app.sec_app_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sec.app.sec_app_api.repository.SegmentedTable;
+import com.sec.app.sec_app_api.repository.SegmentedTable.ScanPage;
+import com.sec.app.sec_app_api.service.BulkCheckpoint.Progress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports tables to gzip-compressed NDJSON files using parallel segmented
+ * scans, and imports them back through a parallel batch write pipeline.
+ *
+ * <p>Each export segment is written to its own file, one gzip member per scan
+ * page, so a resumed run only has to truncate the file back to the last
+ * checkpointed length and carry on from the saved scan key. Imports are
+ * idempotent puts, so replaying records after a crash is harmless.
+ */
+@Service
+public class BulkTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkTransferService.class);
+
+    private static final int BATCH_SIZE = 25;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+    private static final String EXPORT_CHECKPOINT = "export-checkpoint.json";
+    private static final String IMPORT_CHECKPOINT = "import-checkpoint.json";
+
+    private final List<SegmentedTable<?>> tables;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${bank.bulk.parallelism:4}")
+    private int parallelism;
+
+    @Value("${bank.bulk.page-size:500}")
+    private int pageSize;
+
+    @Value("${bank.bulk.write-rate:0}")
+    private double writeRate;
+
+    @Value("${bank.bulk.max-retries:10}")
+    private int maxRetries;
+
+    @Value("${bank.bulk.checkpoint-interval:1000}")
+    private int checkpointInterval;
+
+    public BulkTransferService(List<SegmentedTable<?>> tables, ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher) {
+        this.tables = tables;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public long exportTables(Path dir, Collection<String> tableNames) throws IOException {
+        Files.createDirectories(dir);
+        BulkCheckpoint checkpoint = BulkCheckpoint.load(dir.resolve(EXPORT_CHECKPOINT), objectMapper, parallelism);
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (SegmentedTable<?> table : selectTables(tableNames)) {
+            Path tableDir = Files.createDirectories(dir.resolve(table.tableName()));
+            for (int segment = 0; segment < parallelism; segment++) {
+                int s = segment;
+                tasks.add(() -> exportSegment(table, s, tableDir, checkpoint));
+            }
+        }
+
+        long exported = runAll(tasks);
+        logger.info("Exported {} items from {} to {}", exported, tableNames, dir);
+        return exported;
+    }
+
+    public long importTables(Path dir, Collection<String> tableNames) throws IOException {
+        BulkCheckpoint checkpoint = BulkCheckpoint.load(dir.resolve(IMPORT_CHECKPOINT), objectMapper);
+        RateLimiter rateLimiter = new RateLimiter(writeRate);
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (SegmentedTable<?> table : selectTables(tableNames)) {
+            Path tableDir = dir.resolve(table.tableName());
+            if (!Files.isDirectory(tableDir)) {
+                logger.warn("No export found for table {} in {}", table.tableName(), dir);
+                continue;
+            }
+            try (Stream<Path> files = Files.list(tableDir)) {
+                files.filter(f -> f.getFileName().toString().endsWith(FILE_SUFFIX))
+                        .sorted()
+                        .forEach(file -> tasks.add(() -> importFile(table, file, checkpoint, rateLimiter)));
+            }
+        }
+
+        long imported = runAll(tasks);
+        eventPublisher.publishEvent(new TablesImportedEvent(tableNames));
+        logger.info("Imported {} items into {} from {}", imported, tableNames, dir);
+        return imported;
+    }
+
+    private <T> long exportSegment(SegmentedTable<T> table, int segment, Path tableDir,
+                                   BulkCheckpoint checkpoint) throws IOException {
+        Path file = tableDir.resolve(String.format("segment-%04d%s", segment, FILE_SUFFIX));
+        String name = table.tableName() + "/" + file.getFileName();
+        Progress progress = checkpoint.get(name);
+        if (progress.done()) {
+            return 0;
+        }
+
+        // Drop anything written after the last checkpoint, e.g. a torn gzip member
+        if (Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(progress.bytes());
+            }
+        }
+
+        long exported = 0;
+        ScanPage<T> page;
+        do {
+            page = table.scanSegment(segment, parallelism, progress.lastKey(), pageSize);
+            long bytes = page.items().isEmpty() ? progress.bytes() : appendMember(file, page.items());
+            exported += page.items().size();
+            progress = new Progress(page.isLast(), bytes, progress.lines() + page.items().size(), page.lastKey());
+            checkpoint.update(name, progress);
+        } while (!page.isLast());
+
+        logger.debug("Exported segment {} of {}: {} items", segment, table.tableName(), exported);
+        return exported;
+    }
+
+    private long appendMember(Path file, List<?> items) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file.toFile(), true)) {
+            try (GzipMember gzip = new GzipMember(out)) {
+                for (Object item : items) {
+                    gzip.write(objectMapper.writeValueAsBytes(item));
+                    gzip.write('\n');
+                }
+            }
+            out.getChannel().force(false);
+            return out.getChannel().position();
+        }
+    }
+
+    private <T> long importFile(SegmentedTable<T> table, Path file, BulkCheckpoint checkpoint,
+                                RateLimiter rateLimiter) throws IOException {
+        String name = table.tableName() + "/" + file.getFileName();
+        Progress progress = checkpoint.get(name);
+        if (progress.done()) {
+            return 0;
+        }
+
+        long imported = 0;
+        long line = 0;
+        long checkpointed = progress.lines();
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), IO_BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                if (++line <= progress.lines() || json.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(json, table.itemType()));
+                if (batch.size() == BATCH_SIZE) {
+                    writeBatch(table, batch, rateLimiter);
+                    imported += batch.size();
+                    batch.clear();
+                    if (line - checkpointed >= checkpointInterval) {
+                        checkpoint.update(name, new Progress(false, 0, line, null));
+                        checkpointed = line;
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(table, batch, rateLimiter);
+            imported += batch.size();
+        }
+        checkpoint.update(name, new Progress(true, 0, line, null));
+
+        logger.debug("Imported {} items into {} from {}", imported, table.tableName(), file);
+        return imported;
+    }
+
+    private <T> void writeBatch(SegmentedTable<T> table, List<T> items, RateLimiter rateLimiter) {
+        List<T> pending = items;
+        int attempt = 0;
+        while (true) {
+            rateLimiter.acquire(pending.size());
+            try {
+                pending = table.batchPut(pending);
+            } catch (SdkServiceException e) {
+                if (!e.isThrottlingException()) {
+                    throw e;
+                }
+                logger.debug("Batch write to {} throttled: {}", table.tableName(), e.getMessage());
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (++attempt > maxRetries) {
+                throw new IllegalStateException("Giving up on " + pending.size()
+                        + " unprocessed items for table " + table.tableName());
+            }
+            sleep(backoffMillis(attempt));
+        }
+    }
+
+    private static long backoffMillis(int attempt) {
+        // Exponential backoff with full jitter, capped at 5 seconds
+        long ceiling = Math.min(5_000L, 50L << Math.min(attempt, 10));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private List<SegmentedTable<?>> selectTables(Collection<String> tableNames) {
+        List<SegmentedTable<?>> selected = tables.stream()
+                .filter(t -> tableNames.contains(t.tableName()))
+                .toList();
+        if (selected.size() != tableNames.size()) {
+            throw new IllegalArgumentException("Unknown table in " + tableNames + ", available: "
+                    + tables.stream().map(SegmentedTable::tableName).toList());
+        }
+        return selected;
+    }
+
+    private long runAll(List<Callable<Long>> tasks) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            long total = 0;
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                total += future.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk transfer interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("Bulk transfer failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk transfer interrupted", e);
+        }
+    }
+
+    /**
+     * One gzip member appended to a file. Closing it finishes the member and
+     * frees the deflater's native memory but leaves the file open.
+     */
+    private static final class GzipMember extends GZIPOutputStream {
+
+        GzipMember(OutputStream out) throws IOException {
+            super(out, IO_BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                def.end();
+            }
+        }
+    }
+
+    /**
+     * Spaces out writes so all workers together stay under a fixed number of
+     * items per second. A non-positive rate disables limiting.
+     */
+    static final class RateLimiter {
+
+        private final double nanosPerPermit;
+        private final AtomicLong nextFree = new AtomicLong(System.nanoTime());
+
+        RateLimiter(double permitsPerSecond) {
+            this.nanosPerPermit = permitsPerSecond > 0 ? 1_000_000_000d / permitsPerSecond : 0;
+        }
+
+        void acquire(int permits) {
+            if (nanosPerPermit == 0) {
+                return;
+            }
+            long cost = (long) (permits * nanosPerPermit);
+            long now = System.nanoTime();
+            long start = nextFree.getAndAccumulate(now, (free, n) -> Math.max(free, n) + cost);
+            long wait = Math.max(start, now) - now;
+            if (wait > 0) {
+                sleep(wait / 1_000_000);
+            }
+        }
+    }
+}
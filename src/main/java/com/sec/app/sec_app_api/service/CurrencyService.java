@@ -1,5 +1,7 @@
 package com.sec.app.sec_app_api.service;
 
+import com.sec.app.sec_app_api.timing.RequestTimings;
+import com.sec.app.sec_app_api.timing.Span;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -21,6 +23,7 @@ public class CurrencyService {
             return amountInINR;
         }
         
+        long start = RequestTimings.start();
         try {
             ExchangeRateResponse response = webClient
                     .get()
@@ -41,6 +44,8 @@ public class CurrencyService {
         } catch (Exception e) {
             // If API call fails, return original amount
             return amountInINR;
+        } finally {
+            RequestTimings.stop(Span.FX, start);
         }
     }
     
@@ -22,6 +22,7 @@ public class DynamoDbTableInitializer {
         try {
             createUsersTableIfNotExists();
             createTransactionsTableIfNotExists();
+            createStandingOrdersTableIfNotExists();
         } catch (Exception e) {
             logger.warn("Could not initialize DynamoDB tables: {}. Please ensure AWS credentials are configured and tables exist.", e.getMessage());
         }
@@ -90,4 +91,41 @@ public class DynamoDbTableInitializer {
             logger.info("Transactions table created successfully");
         }
     }
+
+    private void createStandingOrdersTableIfNotExists() {
+        try {
+            // Check if table exists
+            dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                    .tableName("standing-orders")
+                    .build());
+            logger.info("Standing orders table already exists");
+        } catch (ResourceNotFoundException e) {
+            logger.info("Creating standing orders table...");
+            CreateTableRequest createTableRequest = CreateTableRequest.builder()
+                    .tableName("standing-orders")
+                    .keySchema(
+                            KeySchemaElement.builder()
+                                    .attributeName("username")
+                                    .keyType(KeyType.HASH)
+                                    .build(),
+                            KeySchemaElement.builder()
+                                    .attributeName("orderId")
+                                    .keyType(KeyType.RANGE)
+                                    .build())
+                    .attributeDefinitions(
+                            AttributeDefinition.builder()
+                                    .attributeName("username")
+                                    .attributeType(ScalarAttributeType.S)
+                                    .build(),
+                            AttributeDefinition.builder()
+                                    .attributeName("orderId")
+                                    .attributeType(ScalarAttributeType.S)
+                                    .build())
+                    .billingMode(BillingMode.PAY_PER_REQUEST)
+                    .build();
+
+            dynamoDbClient.createTable(createTableRequest);
+            logger.info("Standing orders table created successfully");
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.exception.MaintenanceInProgressException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps archival and reconciliation from running at the same time, since a
+ * reconciliation that overlaps rows moving between the table and the archive
+ * would miss or double count them.
+ */
+@Component
+public class LedgerMaintenanceLock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile String holder;
+
+    /** Takes the lock for {@code job}, or fails immediately if another job holds it. */
+    public void acquire(String job) {
+        if (!lock.tryLock()) {
+            throw new MaintenanceInProgressException(holder);
+        }
+        holder = job;
+    }
+
+    public void release() {
+        holder = null;
+        lock.unlock();
+    }
+}
@@ -0,0 +1,329 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport;
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport.AccountDrift;
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport.DriftType;
+import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.repository.SegmentedTable;
+import com.sec.app.sec_app_api.repository.SegmentedTable.ScanPage;
+import com.sec.app.sec_app_api.repository.TransactionArchive;
+import com.sec.app.sec_app_api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Checks every account balance against its ledger history.
+ *
+ * <p>Transactions are streamed page by page through parallel scan segments and
+ * folded into per-segment {@link AccountTotals}, which are merged fork-join
+ * style. Users are then scanned the same way and compared against the merged
+ * totals. Memory grows with the number of accounts, never with the number of
+ * ledger rows, and the listed drifts are capped. Rows moved to the
+ * {@link TransactionArchive} are folded in as well; a table row the archive
+ * also holds is left to the archive, so a row in both tiers counts once.
+ *
+ * <p>The scans are not a snapshot of a quiet ledger. Before an account is
+ * reported it is re-read, and skipped if it or its ledger was written after
+ * the run started.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliationService.class);
+
+    private final SegmentedTable<User> userTable;
+    private final SegmentedTable<Transaction> transactionTable;
+    private final TransactionArchive transactionArchive;
+    private final UserRepository userRepository;
+    private final LedgerMaintenanceLock maintenanceLock;
+    private final ClusterMembership membership;
+    private volatile ReconciliationReport lastReport;
+
+    @Value("${bank.reconciliation.segments:8}")
+    private int segments;
+
+    @Value("${bank.reconciliation.page-size:1000}")
+    private int pageSize;
+
+    @Value("${bank.reconciliation.tolerance:0.005}")
+    private double tolerance;
+
+    @Value("${bank.reconciliation.max-reported:1000}")
+    private int maxReported;
+
+    public ReconciliationService(SegmentedTable<User> userTable, SegmentedTable<Transaction> transactionTable,
+                                 TransactionArchive transactionArchive, UserRepository userRepository,
+                                 LedgerMaintenanceLock maintenanceLock, ClusterMembership membership) {
+        this.userTable = userTable;
+        this.transactionTable = transactionTable;
+        this.transactionArchive = transactionArchive;
+        this.userRepository = userRepository;
+        this.maintenanceLock = maintenanceLock;
+        this.membership = membership;
+    }
+
+    @Scheduled(cron = "${bank.reconciliation.cron:-}")
+    public void scheduledReconcile() {
+        // In cluster mode only the coordinator runs it, the other nodes share its results
+        if (membership.isCoordinator()) {
+            reconcile();
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        maintenanceLock.acquire("Reconciliation");
+        ForkJoinPool pool = new ForkJoinPool(segments);
+        try {
+            Instant startedAt = Instant.now();
+            LongAdder scanned = new LongAdder();
+            LongAdder checked = new LongAdder();
+            DriftCollector drifts = new DriftCollector(maxReported, startedAt);
+            transactionArchive.refresh();
+
+            AccountTotals totals = pool.invoke(new AggregateTask(0, segments, scanned));
+            // Archived rows count towards the ledger too, including those skipped in the table
+            transactionArchive.forEach(t -> {
+                totals.add(t);
+                scanned.increment();
+            });
+            pool.invoke(new CompareTask(0, segments, totals, drifts, checked));
+            totals.forEachUnmatched(slot -> {
+                Optional<User> user = userRepository.findByUsername(totals.key(slot));
+                if (user.isPresent()) {
+                    // Registered while the users were scanned
+                    compare(user.get(), totals, drifts);
+                } else {
+                    drifts.add(new AccountDrift(totals.key(slot), DriftType.ORPHAN_LEDGER, null, totals.sum(slot),
+                            lastBalance(totals, slot), totals.count(slot)), totals.lastTimestamp(slot));
+                }
+            });
+
+            ReconciliationReport report = ReconciliationReport.builder()
+                    .startedAt(startedAt)
+                    .finishedAt(Instant.now())
+                    .transactionsScanned(scanned.sum())
+                    .ledgerAccounts(totals.size())
+                    .usersChecked(checked.sum())
+                    .driftCount(drifts.count())
+                    .skipped(drifts.skipped())
+                    .truncated(drifts.count() > maxReported)
+                    .drifts(drifts.list())
+                    .build();
+            lastReport = report;
+
+            if (report.getDriftCount() > 0) {
+                logger.warn("Reconciliation found {} drifted accounts out of {} users ({} ledger rows)",
+                        report.getDriftCount(), report.getUsersChecked(), report.getTransactionsScanned());
+            } else {
+                logger.info("Reconciliation clean: {} users, {} ledger rows",
+                        report.getUsersChecked(), report.getTransactionsScanned());
+            }
+            return report;
+        } finally {
+            pool.shutdown();
+            maintenanceLock.release();
+        }
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    private void compare(User user, AccountTotals totals, DriftCollector drifts) {
+        int slot = totals.find(user.getUsername());
+        if (slot >= 0) {
+            totals.markMatched(slot);
+        }
+        if (drifts.changedSinceStart(user.getUpdatedAt())) {
+            drifts.skip();
+            return;
+        }
+        double balance = user.getBalance() == null ? 0.0 : user.getBalance();
+        if (slot < 0) {
+            if (Math.abs(balance) > tolerance) {
+                confirm(new AccountDrift(user.getUsername(), DriftType.MISSING_LEDGER, balance, 0.0, null, 0),
+                        null, drifts);
+            }
+            return;
+        }
+
+        double sum = totals.sum(slot);
+        Double last = lastBalance(totals, slot);
+        DriftType type = null;
+        if (Math.abs(sum - balance) > tolerance) {
+            type = DriftType.BALANCE_MISMATCH;
+        } else if (last != null && Math.abs(last - balance) > tolerance) {
+            type = DriftType.LAST_BALANCE_MISMATCH;
+        }
+        if (type != null) {
+            confirm(new AccountDrift(user.getUsername(), type, balance, sum, last, totals.count(slot)),
+                    totals.lastTimestamp(slot), drifts);
+        }
+    }
+
+    /** Reports the drift unless the user was written to after it was scanned. */
+    private void confirm(AccountDrift drift, Instant lastLedgerWrite, DriftCollector drifts) {
+        Instant updatedAt = userRepository.findByUsername(drift.getUsername()).map(User::getUpdatedAt).orElse(null);
+        drifts.add(drift, updatedAt == null ? lastLedgerWrite : max(updatedAt, lastLedgerWrite));
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static Double lastBalance(AccountTotals totals, int slot) {
+        double last = totals.lastBalance(slot);
+        return Double.isNaN(last) ? null : last;
+    }
+
+    private <T> void scanSegment(SegmentedTable<T> table, int segment, Consumer<T> consumer) {
+        Map<String, String> startKey = null;
+        ScanPage<T> page;
+        do {
+            page = table.scanSegment(segment, segments, startKey, pageSize);
+            page.items().forEach(consumer);
+            startKey = page.lastKey();
+        } while (!page.isLast());
+    }
+
+    /** Aggregates a range of transaction segments, splitting until one segment per task. */
+    private final class AggregateTask extends RecursiveTask<AccountTotals> {
+
+        private final int from;
+        private final int to;
+        private final LongAdder scanned;
+
+        AggregateTask(int from, int to, LongAdder scanned) {
+            this.from = from;
+            this.to = to;
+            this.scanned = scanned;
+        }
+
+        @Override
+        protected AccountTotals compute() {
+            if (to - from == 1) {
+                AccountTotals totals = new AccountTotals();
+                scanSegment(transactionTable, from, t -> {
+                    // The id filters rule out almost every row; the rest are looked up in the few segments left
+                    if (transactionArchive.mightContainTransaction(t.getTransactionId())
+                            && transactionArchive.contains(t)) {
+                        return;
+                    }
+                    totals.add(t);
+                    scanned.increment();
+                });
+                return totals;
+            }
+
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(from, mid, scanned);
+            left.fork();
+            AccountTotals right = new AggregateTask(mid, to, scanned).compute();
+            AccountTotals leftTotals = left.join();
+            if (leftTotals.size() >= right.size()) {
+                leftTotals.merge(right);
+                return leftTotals;
+            }
+            right.merge(leftTotals);
+            return right;
+        }
+    }
+
+    /** Compares a range of user segments against the merged totals. */
+    private final class CompareTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final AccountTotals totals;
+        private final DriftCollector drifts;
+        private final LongAdder checked;
+
+        CompareTask(int from, int to, AccountTotals totals, DriftCollector drifts, LongAdder checked) {
+            this.from = from;
+            this.to = to;
+            this.totals = totals;
+            this.drifts = drifts;
+            this.checked = checked;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                scanSegment(userTable, from, user -> {
+                    compare(user, totals, drifts);
+                    checked.increment();
+                });
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CompareTask(from, mid, totals, drifts, checked),
+                    new CompareTask(mid, to, totals, drifts, checked));
+        }
+    }
+
+    private static final class DriftCollector {
+
+        private final int limit;
+        private final Instant startedAt;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final List<AccountDrift> drifts = new ArrayList<>();
+
+        DriftCollector(int limit, Instant startedAt) {
+            this.limit = limit;
+            this.startedAt = startedAt;
+        }
+
+        boolean changedSinceStart(Instant writtenAt) {
+            return writtenAt != null && writtenAt.isAfter(startedAt);
+        }
+
+        void skip() {
+            skipped.increment();
+        }
+
+        /** Adds the drift unless the account was last written after the run started. */
+        void add(AccountDrift drift, Instant lastWrite) {
+            if (changedSinceStart(lastWrite)) {
+                skip();
+                return;
+            }
+            count.increment();
+            synchronized (drifts) {
+                if (drifts.size() < limit) {
+                    drifts.add(drift);
+                }
+            }
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long skipped() {
+            return skipped.sum();
+        }
+
+        List<AccountDrift> list() {
+            synchronized (drifts) {
+                return List.copyOf(drifts);
+            }
+        }
+    }
+}
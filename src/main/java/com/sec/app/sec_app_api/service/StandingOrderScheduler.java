@@ -0,0 +1,269 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import com.sec.app.sec_app_api.cluster.ClusterMembershipChangedEvent;
+import com.sec.app.sec_app_api.dto.response.StandingOrderStats;
+import com.sec.app.sec_app_api.entity.StandingOrder;
+import com.sec.app.sec_app_api.exception.RecipientNotFoundException;
+import com.sec.app.sec_app_api.exception.UserNotFoundException;
+import com.sec.app.sec_app_api.repository.StandingOrderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executes standing orders when they come due.
+ *
+ * <p>Active orders are held in a {@link TimingWheel} ticked once per
+ * {@code bank.orders.tick}. Each order fires at its due time plus a fixed,
+ * per-order jitter so orders created for the same instant (typically the top
+ * of the hour) are spread over {@code bank.orders.jitter}. Due orders are
+ * executed in batches on a small worker pool through
+ * {@link BankingService#payUser}. An order is suspended once its payments
+ * were rejected {@code bank.orders.max-consecutive-failures} times in a row,
+ * or right away if the payer or recipient no longer exists.
+ *
+ * <p>In cluster mode a node only schedules orders of accounts it owns. Each
+ * run is claimed with a conditional write before paying, so an order that is
+ * briefly held by two nodes during a handoff still runs once per period.
+ */
+@Service
+public class StandingOrderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandingOrderScheduler.class);
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+    private static final long CLAIM_RETRY_MILLIS = 30_000;
+
+    private final BankingService bankingService;
+    private final StandingOrderRepository orderRepository;
+    private final ClusterMembership membership;
+    private final Map<String, StandingOrder> live = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder suspended = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile StandingOrderStats lastBatch = new StandingOrderStats();
+
+    @Value("${bank.orders.tick:1s}")
+    private Duration tick;
+
+    @Value("${bank.orders.jitter:60s}")
+    private Duration jitter;
+
+    @Value("${bank.orders.batch-size:50}")
+    private int batchSize;
+
+    @Value("${bank.orders.workers:4}")
+    private int workers;
+
+    @Value("${bank.orders.max-consecutive-failures:5}")
+    private int maxConsecutiveFailures;
+
+    private TimingWheel<StandingOrder> wheel;
+    private ScheduledExecutorService ticker;
+    private ExecutorService executor;
+
+    public StandingOrderScheduler(BankingService bankingService, StandingOrderRepository orderRepository,
+                                  ClusterMembership membership) {
+        this.bankingService = bankingService;
+        this.orderRepository = orderRepository;
+        this.membership = membership;
+    }
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        executor = Executors.newFixedThreadPool(workers);
+        ticker = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            List<StandingOrder> owned = orderRepository.findAllActive().stream()
+                    .filter(o -> membership.isLocal(o.getUsername()))
+                    .toList();
+            owned.forEach(this::schedule);
+            logger.info("Scheduled {} active standing orders", owned.size());
+        } catch (Exception e) {
+            logger.warn("Could not load standing orders: {}", e.getMessage());
+        }
+        ticker.scheduleAtFixedRate(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        executor.shutdown();
+    }
+
+    public void schedule(StandingOrder order) {
+        live.put(order.getOrderId(), order);
+        wheel.schedule(order, order.getNextRunAt().toEpochMilli() + jitterMillis(order));
+    }
+
+    public void unschedule(String orderId) {
+        // The wheel entry is dropped lazily when it fires
+        live.remove(orderId);
+    }
+
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        int released = 0;
+        for (StandingOrder order : live.values()) {
+            if (!membership.isLocal(order.getUsername(), event.current()) && live.remove(order.getOrderId(), order)) {
+                released++;
+            }
+        }
+        int acquired = 0;
+        try {
+            for (StandingOrder order : orderRepository.findAllActive()) {
+                if (membership.isLocal(order.getUsername(), event.current())
+                        && !live.containsKey(order.getOrderId())) {
+                    schedule(order);
+                    acquired++;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not load standing orders after membership change: {}", e.getMessage());
+        }
+        logger.info("Standing order handoff: released {}, acquired {}", released, acquired);
+    }
+
+    public StandingOrderStats getStats() {
+        StandingOrderStats last = lastBatch;
+        return new StandingOrderStats(live.size(), executed.sum(), failed.sum(), suspended.sum(), batches.sum(),
+                last.getLastBatchSize(), last.getLastBatchMillis(), last.getExecutedPerSecond(), last.getLastBatchAt());
+    }
+
+    private void tick() {
+        try {
+            List<StandingOrder> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += batchSize) {
+                List<StandingOrder> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+                executor.execute(() -> runBatch(batch));
+            }
+        } catch (Exception e) {
+            logger.error("Standing order tick failed", e);
+        }
+    }
+
+    private void runBatch(List<StandingOrder> batch) {
+        long start = System.nanoTime();
+        int ran = 0;
+        for (StandingOrder order : batch) {
+            // Skip orders cancelled or rescheduled since they were put on the wheel
+            if (live.get(order.getOrderId()) == order) {
+                execute(order);
+                ran++;
+            }
+        }
+        if (ran == 0) {
+            return;
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        batches.increment();
+        lastBatch = new StandingOrderStats(0, 0, 0, 0, 0, ran, millis, ran * 1000.0 / millis, Instant.now());
+    }
+
+    private void execute(StandingOrder order) {
+        Instant now = Instant.now();
+        Instant due = order.getNextRunAt();
+
+        // An order overdue after downtime runs once now; the other runs it missed are skipped, not replayed
+        Duration interval = Duration.ofMinutes(order.getIntervalMinutes());
+        Instant next = due;
+        while (!next.isAfter(now)) {
+            next = next.plus(interval);
+        }
+        order.setNextRunAt(next);
+        order.setLastRunAt(now);
+
+        try {
+            if (!orderRepository.claim(order, due)) {
+                // Cancelled, or run by another node that owns the account now
+                live.remove(order.getOrderId(), order);
+                return;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not claim standing order {}: {}", order.getOrderId(), e.getMessage());
+            order.setNextRunAt(due);
+            wheel.schedule(order, now.toEpochMilli() + CLAIM_RETRY_MILLIS);
+            return;
+        }
+
+        boolean suspend = false;
+        try {
+            bankingService.payUser(order.getUsername(), order.getRecipient(), order.getAmount());
+            order.setRunCount(order.getRunCount() + 1);
+            order.setConsecutiveFailures(0L);
+            order.setLastError(null);
+            executed.increment();
+        } catch (RuntimeException e) {
+            long consecutive = (order.getConsecutiveFailures() == null ? 0 : order.getConsecutiveFailures()) + 1;
+            order.setFailureCount(order.getFailureCount() + 1);
+            order.setConsecutiveFailures(consecutive);
+            order.setLastError(e.getMessage());
+            failed.increment();
+            // Retrying cannot help once either account is gone
+            suspend = consecutive >= maxConsecutiveFailures
+                    || e instanceof RecipientNotFoundException || e instanceof UserNotFoundException;
+            logger.debug("Standing order {} of {} failed: {}", order.getOrderId(), order.getUsername(), e.getMessage());
+        }
+
+        try {
+            StandingOrder stored = orderRepository.recordRun(order);
+            if (stored == null || !"active".equals(stored.getStatus())) {
+                live.remove(order.getOrderId(), order); // cancelled, or claimed by another node, while running
+                return;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not save standing order {}: {}", order.getOrderId(), e.getMessage());
+        }
+        if (suspend) {
+            suspend(order);
+            return;
+        }
+        if (live.get(order.getOrderId()) != order) {
+            return; // cancelled or handed off while running
+        }
+        schedule(order);
+    }
+
+    private void suspend(StandingOrder order) {
+        live.remove(order.getOrderId(), order);
+        try {
+            if (orderRepository.suspend(order)) {
+                suspended.increment();
+                logger.info("Suspended standing order {} of {} after {} failed runs: {}", order.getOrderId(),
+                        order.getUsername(), order.getConsecutiveFailures(), order.getLastError());
+            }
+        } catch (Exception e) {
+            // Still active in the table, so it is picked up again on restart or handoff
+            logger.warn("Could not suspend standing order {}: {}", order.getOrderId(), e.getMessage());
+        }
+    }
+
+    private long jitterMillis(StandingOrder order) {
+        return jitter.isZero() ? 0 : Math.floorMod(order.getOrderId().hashCode(), jitter.toMillis());
+    }
+}
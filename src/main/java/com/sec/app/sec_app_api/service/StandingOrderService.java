@@ -0,0 +1,81 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.dto.response.StandingOrderResponse;
+import com.sec.app.sec_app_api.entity.StandingOrder;
+import com.sec.app.sec_app_api.exception.RecipientNotFoundException;
+import com.sec.app.sec_app_api.exception.SelfPaymentException;
+import com.sec.app.sec_app_api.repository.StandingOrderRepository;
+import com.sec.app.sec_app_api.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class StandingOrderService {
+
+    private final StandingOrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final StandingOrderScheduler scheduler;
+
+    public StandingOrderService(StandingOrderRepository orderRepository,
+                                UserRepository userRepository,
+                                StandingOrderScheduler scheduler) {
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.scheduler = scheduler;
+    }
+
+    public StandingOrderResponse createOrder(String username, String toUsername, Double amount,
+                                             Long intervalMinutes, Instant startAt) {
+        if (username.equals(toUsername)) {
+            throw SelfPaymentException.INSTANCE;
+        }
+        if (!userRepository.existsByUsername(toUsername)) {
+            throw RecipientNotFoundException.INSTANCE;
+        }
+
+        Instant now = Instant.now();
+        StandingOrder order = StandingOrder.builder()
+                .username(username)
+                .orderId(UUID.randomUUID().toString())
+                .recipient(toUsername)
+                .amount(amount)
+                .intervalMinutes(intervalMinutes)
+                .nextRunAt(startAt != null ? startAt : now.plus(Duration.ofMinutes(intervalMinutes)))
+                .status("active")
+                .createdAt(now)
+                .runCount(0L)
+                .failureCount(0L)
+                .consecutiveFailures(0L)
+                .build();
+
+        orderRepository.save(order);
+        scheduler.schedule(order);
+        return toResponse(order);
+    }
+
+    public List<StandingOrderResponse> getOrders(String username) {
+        return orderRepository.findByUsername(username).stream()
+                .sorted(Comparator.comparing(StandingOrder::getCreatedAt))
+                .map(this::toResponse)
+                .toList();
+    }
+
+    public boolean cancelOrder(String username, String orderId) {
+        // Status only, so a run in flight keeps its counters and cannot reactivate the order
+        if (!orderRepository.cancel(username, orderId)) {
+            return false;
+        }
+        scheduler.unschedule(orderId);
+        return true;
+    }
+
+    private StandingOrderResponse toResponse(StandingOrder o) {
+        return new StandingOrderResponse(o.getOrderId(), o.getRecipient(), o.getAmount(), o.getIntervalMinutes(),
+                o.getNextRunAt(), o.getStatus(), o.getRunCount(), o.getFailureCount(), o.getLastError());
+    }
+}
@@ -0,0 +1,10 @@
+package com.sec.app.sec_app_api.service;
+
+import java.util.Collection;
+
+/**
+ * Published after a bulk import has written straight to the tables, past
+ * anything that caches their contents.
+ */
+public record TablesImportedEvent(Collection<String> tableNames) {
+}
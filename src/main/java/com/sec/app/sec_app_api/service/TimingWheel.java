@@ -0,0 +1,102 @@
+package com.sec.app.sec_app_api.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one bucket per tick; each higher
+ * level covers {@code wheelSize} times the span of the level below and is
+ * cascaded down when the lower level wraps. Scheduling and advancing are
+ * O(1) per entry regardless of how many entries are pending. Entries beyond
+ * the top level wait in an overflow list that is re-sorted on each top-level
+ * wrap.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final ArrayDeque<Entry<T>>[][] levels;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<T> ready = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, int levelCount, long nowMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new ArrayDeque[levelCount][wheelSize];
+        for (ArrayDeque<Entry<T>>[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(T item, long dueMillis) {
+        place(new Entry<>(item, dueMillis / tickMillis));
+        size++;
+    }
+
+    /** Advances the wheel to {@code nowMillis} and returns every entry that has come due. */
+    synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * bits)) - 1)) == 0) {
+                    cascade(levels[level][(int) ((currentTick >>> (level * bits)) & mask)]);
+                }
+            }
+            if ((currentTick & ((1L << (levels.length * bits)) - 1)) == 0 && !overflow.isEmpty()) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::place);
+            }
+            ArrayDeque<Entry<T>> bucket = levels[0][(int) (currentTick & mask)];
+            for (Entry<T> entry; (entry = bucket.poll()) != null; ) {
+                ready.add(entry.item());
+            }
+        }
+
+        List<T> due = new ArrayList<>(ready);
+        size -= ready.size();
+        ready.clear();
+        return due;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void cascade(ArrayDeque<Entry<T>> bucket) {
+        for (Entry<T> entry; (entry = bucket.poll()) != null; ) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick() - currentTick;
+        if (delta <= 0) {
+            ready.add(entry.item());
+            return;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            if (delta < 1L << ((level + 1) * bits)) {
+                levels[level][(int) ((entry.tick() >>> (level * bits)) & mask)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
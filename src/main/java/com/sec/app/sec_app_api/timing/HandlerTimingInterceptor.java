@@ -0,0 +1,15 @@
+package com.sec.app.sec_app_api.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Opens the handler span once Spring MVC has picked a controller method. */
+public class HandlerTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings.open(Span.HANDLER);
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sec.app.sec_app_api.timing;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread span accumulator for the request being served. All state lives
+ * in arrays reused across requests, so recording a span allocates nothing.
+ * Outside a request (e.g. scheduled jobs) {@link #start()} returns 0 and
+ * {@link #stop(Span, long)} ignores it.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+    private static final Span[] SPANS = Span.values();
+
+    private final long[] nanos = new long[SPANS.length];
+    private final int[] counts = new int[SPANS.length];
+    private final long[] openedAt = new long[SPANS.length];
+    private final StringBuilder text = new StringBuilder(256);
+    private boolean active;
+    private long requestStart;
+
+    private RequestTimings() {
+    }
+
+    /** Starts a span; pass the result to {@link #stop(Span, long)}. */
+    public static long start() {
+        return CURRENT.get().active ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(Span span, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        if (timings.active) {
+            timings.nanos[span.ordinal()] += System.nanoTime() - startNanos;
+            timings.counts[span.ordinal()]++;
+        }
+    }
+
+    /** Opens a span whose start and end happen in different callbacks. */
+    public static void open(Span span) {
+        RequestTimings timings = CURRENT.get();
+        if (timings.active) {
+            timings.openedAt[span.ordinal()] = System.nanoTime();
+        }
+    }
+
+    /** Closes a span opened with {@link #open(Span)}; does nothing if it is not open. */
+    public static void close(Span span) {
+        RequestTimings timings = CURRENT.get();
+        long opened = timings.openedAt[span.ordinal()];
+        if (opened != 0L) {
+            timings.openedAt[span.ordinal()] = 0L;
+            stop(span, opened);
+        }
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = CURRENT.get();
+        Arrays.fill(timings.nanos, 0L);
+        Arrays.fill(timings.counts, 0);
+        Arrays.fill(timings.openedAt, 0L);
+        timings.requestStart = System.nanoTime();
+        timings.active = true;
+        return timings;
+    }
+
+    static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings.active ? timings : null;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - requestStart;
+    }
+
+    /**
+     * Renders the spans in Server-Timing syntax, e.g.
+     * {@code total;dur=812.3, auth;dur=301.2, user-db;dur=40.1;desc="3 calls"}.
+     */
+    String render() {
+        text.setLength(0);
+        appendMetric("total", elapsedNanos(), 1);
+        for (Span span : SPANS) {
+            if (counts[span.ordinal()] > 0) {
+                text.append(", ");
+                appendMetric(span.metricName(), nanos[span.ordinal()], counts[span.ordinal()]);
+            }
+        }
+        return text.toString();
+    }
+
+    private void appendMetric(String name, long durationNanos, int count) {
+        long tenthsOfMillis = durationNanos / 100_000;
+        text.append(name).append(";dur=").append(tenthsOfMillis / 10).append('.').append(tenthsOfMillis % 10);
+        if (count > 1) {
+            text.append(";desc=\"").append(count).append(" calls\"");
+        }
+    }
+}
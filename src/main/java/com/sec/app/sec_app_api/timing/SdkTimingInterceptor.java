@@ -0,0 +1,22 @@
+package com.sec.app.sec_app_api.timing;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Times each HTTP attempt made by the synchronous AWS SDK clients, which run
+ * on the calling request thread.
+ */
+public class SdkTimingInterceptor implements ExecutionInterceptor {
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        RequestTimings.open(Span.DYNAMODB);
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        RequestTimings.close(Span.DYNAMODB);
+    }
+}
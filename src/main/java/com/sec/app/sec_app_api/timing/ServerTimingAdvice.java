@@ -0,0 +1,40 @@
+package com.sec.app.sec_app_api.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Closes the handler span and sets the Server-Timing header just before the
+ * response body is written, while headers can still be changed.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ServerTimingFilter filter;
+
+    public ServerTimingAdvice(ServerTimingFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings.close(Span.HANDLER);
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && filter.isHeaderEnabled()) {
+            response.getHeaders().set(ServerTimingFilter.HEADER, timings.render());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sec.app.sec_app_api.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Captures per-request span timings, adds them as a Server-Timing header when
+ * enabled and logs a sample of requests slower than the threshold. Runs ahead
+ * of Spring Security so password checks are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    @Value("${bank.timing.server-timing-header:false}")
+    private boolean headerEnabled;
+
+    @Value("${bank.timing.slow-threshold:500ms}")
+    private Duration slowThreshold;
+
+    @Value("${bank.timing.slow-sample-rate:1.0}")
+    private double slowSampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !headerEnabled && slowThreshold.isZero();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.close(Span.HANDLER);
+            // Bodyless responses (e.g. 304) are not committed yet, body responses got it from ServerTimingAdvice
+            if (headerEnabled && !response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.setHeader(HEADER, timings.render());
+            }
+            long elapsed = timings.elapsedNanos();
+            if (!slowThreshold.isZero() && elapsed >= slowThreshold.toNanos()
+                    && (slowSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < slowSampleRate)) {
+                logger.warn("Slow request {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timings.render());
+            }
+            timings.end();
+        }
+    }
+
+    boolean isHeaderEnabled() {
+        return headerEnabled;
+    }
+}
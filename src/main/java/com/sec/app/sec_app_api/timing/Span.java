@@ -0,0 +1,26 @@
+package com.sec.app.sec_app_api.timing;
+
+/**
+ * Timed sections of a request, in the order they appear in the
+ * Server-Timing header.
+ */
+public enum Span {
+    AUTH("auth"),           // password hashing / verification
+    HANDLER("handler"),     // controller and service, up to the response body
+    USER_DB("user-db"),     // UserRepository calls
+    TX_DB("tx-db"),         // TransactionRepository calls
+    DYNAMODB("dynamodb"),   // time on the wire inside the AWS SDK
+    ARCHIVE("archive"),     // archived ledger reads
+    FX("fx"),               // exchange rate lookups
+    FORWARD("forward");     // proxying to the node that owns the account
+
+    private final String metricName;
+
+    Span(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,38 @@
+package com.sec.app.sec_app_api.timing;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Records password hashing and verification under the auth span. */
+public class TimingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public TimingPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = RequestTimings.start();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            RequestTimings.stop(Span.AUTH, start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = RequestTimings.start();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            RequestTimings.stop(Span.AUTH, start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,108 @@
+package com.sec.app.sec_app_api.bench;
+
+import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.repository.UserRepository;
+import com.sec.app.sec_app_api.service.BankingService;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-process throughput of rejected payments through
+ * {@link BankingService#payUser}, without HTTP or BCrypt. Accounts live in an
+ * in-memory {@link UserRepository}; each call is made {@code depth} frames
+ * deep to stand in for the servlet, security and MVC stack a real request
+ * runs on. The baseline repeats the same lookups but throws a new
+ * {@link RuntimeException}, as the service did before typed rejections.
+ *
+ * <p>Run with {@code ./bench-rejected-payments.sh --in-process [ITERATIONS] [DEPTH]}.
+ */
+public class RejectedPaymentBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 150;
+
+        UserRepository users = new InMemoryUserRepository(Map.of(
+                "sender", User.builder().username("sender").balance(10.0).version(1L).build(),
+                "recipient", User.builder().username("recipient").balance(0.0).version(1L).build()));
+        BankingService service = new BankingService(users, null, null, null, null, null, null, null);
+
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        cases.put("new RuntimeException (baseline)", () -> {
+            User sender = users.findByUsername("sender").orElseThrow();
+            if (sender.getBalance() < 100.0) {
+                throw new RuntimeException("Insufficient funds");
+            }
+        });
+        cases.put("payUser insufficient funds", () -> service.payUser("sender", "recipient", 100.0));
+        cases.put("payUser unknown recipient", () -> service.payUser("sender", "nobody", 1.0));
+
+        System.out.printf("%d iterations per case, %d frames deep%n", iterations, depth);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            for (Map.Entry<String, Runnable> c : cases.entrySet()) {
+                measure(c.getValue(), iterations / 10, depth); // warm-up
+                long start = System.nanoTime();
+                long checksum = measure(c.getValue(), iterations, depth);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("  %-34s %12.0f rejections/s  (checksum %d)%n",
+                        c.getKey(), iterations / seconds, checksum);
+            }
+        }
+    }
+
+    private static long measure(Runnable payment, int iterations, int depth) {
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                nest(depth, () -> {
+                    payment.run();
+                    return 0;
+                });
+            } catch (RuntimeException e) {
+                checksum += e.getMessage().length();
+            }
+        }
+        return checksum;
+    }
+
+    private static int nest(int depth, Supplier<Integer> body) {
+        return depth == 0 ? body.get() : nest(depth - 1, body) + 1;
+    }
+
+    private static final class InMemoryUserRepository extends UserRepository {
+
+        private final Map<String, User> users;
+
+        InMemoryUserRepository(Map<String, User> users) {
+            // Never called: lookups are served from the map
+            super(DynamoDbEnhancedClient.builder()
+                    .dynamoDbClient(DynamoDbClient.builder()
+                            .region(Region.US_EAST_1)
+                            .credentialsProvider(AnonymousCredentialsProvider.create())
+                            .build())
+                    .build());
+            this.users = users;
+        }
+
+        @Override
+        public Optional<User> findByUsername(String username) {
+            User user = users.get(username);
+            // A copy per lookup, like a fresh item read from the table
+            return user == null ? Optional.empty() : Optional.of(User.builder()
+                    .username(user.getUsername())
+                    .balance(user.getBalance())
+                    .version(user.getVersion())
+                    .build());
+        }
+    }
+}
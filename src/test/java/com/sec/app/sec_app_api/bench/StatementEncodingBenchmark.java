@@ -0,0 +1,91 @@
+package com.sec.app.sec_app_api.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sec.app.sec_app_api.config.BinaryEncodingConfig;
+import com.sec.app.sec_app_api.dto.response.TransactionResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process serialization cost of a statement in each response encoding,
+ * without HTTP, authentication or DynamoDB. The mappers are built the same
+ * way the message converters are: JSON from Spring's defaults, CBOR and Smile
+ * through {@link BinaryEncodingConfig}.
+ *
+ * <p>Run with {@code ./bench-stmt-encodings.sh --in-process [TRANSACTIONS] [ITERATIONS]}.
+ */
+public class StatementEncodingBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int transactions = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        BinaryEncodingConfig config = new BinaryEncodingConfig();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("application/json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("application/cbor",
+                config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper());
+        mappers.put("application/x-jackson-smile",
+                config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper());
+
+        List<TransactionResponse> statement = statement(transactions);
+
+        System.out.printf("%d transactions, %d iterations per encoding%n", transactions, iterations);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            for (Map.Entry<String, ObjectMapper> m : mappers.entrySet()) {
+                ObjectMapper mapper = m.getValue();
+                measure(mapper, statement, iterations / 10); // warm-up
+                long start = System.nanoTime();
+                long checksum = measure(mapper, statement, iterations);
+                double micros = (System.nanoTime() - start) / 1e3 / iterations;
+
+                byte[] body = mapper.writeValueAsBytes(statement);
+                System.out.printf("  %-28s %8d bytes %8d gzipped %10.1f us/op  (checksum %d)%n",
+                        m.getKey(), body.length, gzip(body).length, micros, checksum);
+            }
+        }
+    }
+
+    private static long measure(ObjectMapper mapper, List<TransactionResponse> statement, int iterations)
+            throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            checksum += mapper.writeValueAsBytes(statement).length;
+        }
+        return checksum;
+    }
+
+    private static List<TransactionResponse> statement(int transactions) {
+        // Shaped like a funded account: running balance, one row a minute
+        List<TransactionResponse> rows = new ArrayList<>(transactions);
+        Instant timestamp = Instant.parse("2025-01-01T09:00:00.123456Z");
+        double balance = 0;
+        for (int i = 0; i < transactions; i++) {
+            boolean credit = i % 3 != 2;
+            double amt = credit ? 10.0 + i % 7 : 4.25;
+            balance += credit ? amt : -amt;
+            rows.add(new TransactionResponse(credit ? "credit" : "debit", amt, balance,
+                    timestamp.plusSeconds(60L * i)));
+        }
+        return rows;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        }
+        return out.toByteArray();
+    }
+}
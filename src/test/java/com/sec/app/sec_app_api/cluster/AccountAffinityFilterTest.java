@@ -0,0 +1,182 @@
+package com.sec.app.sec_app_api.cluster;
+
+import com.sec.app.sec_app_api.service.AccountVersionCache;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountAffinityFilterTest {
+
+    private static final String SELF = "http://127.0.0.1:1";
+    private static final String SECRET = "s3cret";
+
+    private HttpServer owner;
+    private final AtomicReference<Headers> received = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void startOwner() throws IOException {
+        owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext("/", exchange -> {
+            received.set(exchange.getRequestHeaders());
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] body = "{\"balance\":42.0}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("ETag", "\"7\"");
+            exchange.sendResponseHeaders(201, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+    }
+
+    @AfterEach
+    void stopOwner() {
+        owner.stop(0);
+    }
+
+    @Test
+    void forwardsToTheOwnerWithoutClientSuppliedClusterHeaders() throws Exception {
+        String ownerUrl = "http://127.0.0.1:" + owner.getAddress().getPort();
+        ClusterMembership membership = membership(ownerUrl);
+        String username = ownedBy(membership, ownerUrl);
+
+        MockHttpServletRequest request = request("POST", "/pay", username);
+        request.setQueryString("to=bob&amount=5");
+        request.addHeader(ClusterClient.FORWARDED_BY_HEADER, "http://attacker");
+        request.addHeader(ClusterClient.SECRET_HEADER, "guess");
+        request.addHeader("X-Request-Id", "abc");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter(membership).doFilter(request, response, chain);
+
+        assertNull(chain.getRequest(), "served locally");
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"balance\":42.0}", response.getContentAsString());
+        assertEquals("\"7\"", response.getHeader("ETag"));
+
+        Headers headers = received.get();
+        assertEquals(List.of(SECRET), headers.get(ClusterClient.SECRET_HEADER));
+        assertEquals(List.of(SELF), headers.get(ClusterClient.FORWARDED_BY_HEADER));
+        assertEquals(List.of("abc"), headers.get("X-Request-Id"));
+        assertNotNull(headers.getFirst("Authorization"));
+        assertEquals("{}", receivedBody.get());
+    }
+
+    @Test
+    void servesTrustedForwardedRequestsLocally() throws Exception {
+        String ownerUrl = "http://127.0.0.1:" + owner.getAddress().getPort();
+        ClusterMembership membership = membership(ownerUrl);
+        MockHttpServletRequest request = request("GET", "/stmt", ownedBy(membership, ownerUrl));
+        request.addHeader(ClusterClient.FORWARDED_BY_HEADER, ownerUrl);
+        request.addHeader(ClusterClient.SECRET_HEADER, SECRET);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter(membership).doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(SELF, response.getHeader(ClusterClient.NODE_HEADER));
+        assertNull(received.get());
+    }
+
+    @Test
+    void unreachableOwnerAnswers503WithRetryAfter() throws Exception {
+        String deadUrl;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadUrl = "http://127.0.0.1:" + socket.getLocalPort();
+        }
+        ClusterMembership membership = membership(deadUrl);
+        MockHttpServletRequest request = request("GET", "/stmt", ownedBy(membership, deadUrl));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter(membership).doFilter(request, response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"error\""));
+    }
+
+    @Test
+    void versionPushNeedsTheSecret() throws Exception {
+        ClusterMembership membership = membership("http://127.0.0.1:" + owner.getAddress().getPort());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", ClusterClient.VERSION_PATH);
+        request.setServletPath(ClusterClient.VERSION_PATH);
+        request.setParameter("username", "alice");
+        request.setParameter("version", "3");
+        request.addHeader(ClusterClient.SECRET_HEADER, SECRET.substring(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(membership).doFilter(request, response, new MockFilterChain());
+
+        assertEquals(403, response.getStatus());
+    }
+
+    private static ClusterMembership membership(String peer) throws IOException {
+        ClusterMembership membership = new ClusterMembership(event -> { });
+        ReflectionTestUtils.setField(membership, "enabled", true);
+        ReflectionTestUtils.setField(membership, "self", SELF);
+        ReflectionTestUtils.setField(membership, "staticMembers", List.of(SELF, peer));
+        ReflectionTestUtils.setField(membership, "membersFile", "");
+        ReflectionTestUtils.setField(membership, "virtualNodes", 128);
+        membership.init();
+        return membership;
+    }
+
+    private static AccountAffinityFilter filter(ClusterMembership membership) {
+        ClusterClient client = new ClusterClient(membership);
+        ReflectionTestUtils.setField(client, "secret", SECRET);
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "forwardTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "contextPath", "");
+        client.init();
+
+        AccountVersionCache versionCache = new AccountVersionCache(membership);
+        ReflectionTestUtils.setField(versionCache, "maxSize", 100);
+        ReflectionTestUtils.setField(versionCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(versionCache, "refreshMillis", 5000L);
+        versionCache.init();
+        return new AccountAffinityFilter(membership, client, versionCache);
+    }
+
+    private static String ownedBy(ClusterMembership membership, String node) {
+        for (int i = 0; ; i++) {
+            if (node.equals(membership.ownerOf("user" + i))) {
+                return "user" + i;
+            }
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        request.setServletPath(path);
+        request.addHeader("Authorization", "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":password").getBytes(StandardCharsets.UTF_8)));
+        return request;
+    }
+}
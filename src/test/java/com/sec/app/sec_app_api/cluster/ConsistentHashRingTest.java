@@ -0,0 +1,61 @@
+package com.sec.app.sec_app_api.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(new ConsistentHashRing(List.of(), 128).ownerOf("alice"));
+    }
+
+    @Test
+    void ownershipDependsOnlyOnMembership() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a:8080", "b:8080", "c:8080"), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c:8080", "a:8080", "b:8080"), 128);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ring.ownerOf("user" + i), reordered.ownerOf("user" + i));
+        }
+    }
+
+    @Test
+    void accountsSpreadEvenly() {
+        List<String> members = List.of("a:8080", "b:8080", "c:8080", "d:8080");
+        ConsistentHashRing ring = new ConsistentHashRing(members, 128);
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            owned.merge(ring.ownerOf("user" + i), 1, Integer::sum);
+        }
+        for (String member : members) {
+            double share = owned.getOrDefault(member, 0) / (double) KEYS;
+            assertTrue(share > 0.15 && share < 0.35, member + " owns " + share);
+        }
+    }
+
+    @Test
+    void joiningMemberOnlyTakesAccountsFromOthers() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a:8080", "b:8080", "c:8080"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a:8080", "b:8080", "c:8080", "d:8080"), 128);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "user" + i;
+            String owner = after.ownerOf(key);
+            if (!owner.equals(before.ownerOf(key))) {
+                assertEquals("d:8080", owner, key + " moved between existing members");
+                moved++;
+            }
+        }
+        double share = moved / (double) KEYS;
+        assertTrue(share > 0.15 && share < 0.35, "moved " + share);
+    }
+}
@@ -0,0 +1,108 @@
+package com.sec.app.sec_app_api.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sec.app.sec_app_api.controller.BankingController;
+import com.sec.app.sec_app_api.dto.response.TransactionResponse;
+import com.sec.app.sec_app_api.service.BankingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BinaryEncodingConfigTest {
+
+    private static final TypeReference<List<TransactionResponse>> STATEMENT = new TypeReference<>() { };
+
+    private final BinaryEncodingConfig config = new BinaryEncodingConfig();
+    // As Spring Boot configures the default JSON mapper
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper cbor =
+            config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+    private final ObjectMapper smile =
+            config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+    @Test
+    void binaryEncodingsRoundTripWithEpochMillisTimestamps() throws IOException {
+        List<TransactionResponse> statement = statement(200);
+        for (ObjectMapper mapper : List.of(cbor, smile)) {
+            byte[] body = mapper.writeValueAsBytes(statement);
+            assertEquals(statement, mapper.readValue(body, STATEMENT));
+
+            JsonNode first = mapper.readTree(body).get(0);
+            assertTrue(first.get("timestamp").isIntegralNumber());
+            assertEquals(statement.get(0).getTimestamp().toEpochMilli(), first.get("timestamp").asLong());
+            assertTrue(first.has("updated_bal"));
+            assertTrue(body.length < json.writeValueAsBytes(statement).length);
+        }
+    }
+
+    @Test
+    void statementIsEncodedAsTheAcceptHeaderAsks() throws Exception {
+        List<TransactionResponse> statement = statement(3);
+        BankingService bankingService = mock(BankingService.class);
+        when(bankingService.getTransactionHistory("alice")).thenReturn(statement);
+        when(bankingService.getAccountVersion("alice")).thenReturn(1L);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BankingController(bankingService))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(json),
+                        config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))
+                .build();
+
+        assertEquals(statement, fetch(mockMvc, "application/cbor", cbor));
+        assertEquals(statement, fetch(mockMvc, "application/x-jackson-smile", smile));
+        // JSON stays the default and keeps ISO timestamps
+        MvcResult result = mockMvc.perform(get("/stmt").principal(alice()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andReturn();
+        assertTrue(json.readTree(result.getResponse().getContentAsByteArray()).get(0).get("timestamp").isTextual());
+    }
+
+    private static List<TransactionResponse> fetch(MockMvc mockMvc, String mediaType, ObjectMapper mapper)
+            throws Exception {
+        MvcResult result = mockMvc.perform(get("/stmt").principal(alice()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn();
+        return mapper.readValue(result.getResponse().getContentAsByteArray(), STATEMENT);
+    }
+
+    private static UsernamePasswordAuthenticationToken alice() {
+        return new UsernamePasswordAuthenticationToken("alice", null);
+    }
+
+    private static List<TransactionResponse> statement(int transactions) {
+        List<TransactionResponse> rows = new ArrayList<>();
+        Instant timestamp = Instant.parse("2025-01-01T09:00:00.123Z");
+        double balance = 0;
+        for (int i = 0; i < transactions; i++) {
+            boolean credit = i % 3 != 2;
+            double amt = credit ? 10.0 + i % 7 : 4.25;
+            balance += credit ? amt : -amt;
+            rows.add(new TransactionResponse(credit ? "credit" : "debit", amt, balance,
+                    timestamp.plusSeconds(60L * i)));
+        }
+        return rows;
+    }
+}
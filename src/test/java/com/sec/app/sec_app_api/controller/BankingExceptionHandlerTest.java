@@ -0,0 +1,104 @@
+package com.sec.app.sec_app_api.controller;
+
+import com.sec.app.sec_app_api.exception.BankingExceptionHandler;
+import com.sec.app.sec_app_api.exception.InsufficientFundsException;
+import com.sec.app.sec_app_api.exception.MaintenanceInProgressException;
+import com.sec.app.sec_app_api.exception.SelfPaymentException;
+import com.sec.app.sec_app_api.service.ArchivalService;
+import com.sec.app.sec_app_api.service.BankingService;
+import com.sec.app.sec_app_api.service.ReconciliationService;
+import com.sec.app.sec_app_api.service.StandingOrderScheduler;
+import com.sec.app.sec_app_api.service.StandingOrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.security.Principal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BankingExceptionHandlerTest {
+
+    private static final Principal ALICE = new UsernamePasswordAuthenticationToken("alice", null);
+
+    private final BankingService bankingService = mock(BankingService.class);
+    private final StandingOrderService orderService = mock(StandingOrderService.class);
+    private final ReconciliationService reconciliationService = mock(ReconciliationService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BankingController(bankingService), new StandingOrderController(orderService),
+                        new AdminController(reconciliationService, mock(ArchivalService.class),
+                                mock(StandingOrderScheduler.class)))
+                .setControllerAdvice(new BankingExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void paymentRejectionIsABadRequest() throws Exception {
+        when(bankingService.payUser(anyString(), anyString(), anyDouble()))
+                .thenThrow(InsufficientFundsException.INSTANCE);
+
+        mockMvc.perform(post("/pay").principal(ALICE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"to\":\"bob\",\"amt\":100}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Insufficient funds"));
+    }
+
+    @Test
+    void standingOrderToYourselfIsABadRequest() throws Exception {
+        when(orderService.createOrder(anyString(), anyString(), anyDouble(), any(), any()))
+                .thenThrow(SelfPaymentException.INSTANCE);
+
+        mockMvc.perform(post("/orders").principal(ALICE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"to\":\"alice\",\"amt\":10,\"interval_minutes\":60}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Cannot pay yourself"));
+    }
+
+    @Test
+    void maintenanceJobAlreadyRunningIsAConflict() throws Exception {
+        when(reconciliationService.reconcile()).thenThrow(new MaintenanceInProgressException("Archival"));
+
+        mockMvc.perform(post("/admin/reconcile"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Archival already running"));
+    }
+
+    @Test
+    void invalidArgumentIsABadRequest() throws Exception {
+        when(bankingService.getBalance("alice", "XYZ")).thenThrow(new IllegalArgumentException("Unknown currency"));
+        when(bankingService.getAccountVersion("alice")).thenReturn(1L);
+
+        mockMvc.perform(get("/bal").param("currency", "XYZ").principal(ALICE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown currency"));
+    }
+
+    @Test
+    void backendFailureIsAServerErrorWithoutDetails() throws Exception {
+        when(bankingService.getTransactionHistory("alice"))
+                .thenThrow(DynamoDbException.builder().message("Table users in eu-west-1 is throttled").build());
+        when(bankingService.getAccountVersion("alice")).thenReturn(1L);
+
+        mockMvc.perform(get("/stmt").principal(ALICE))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("Request failed"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.sec.app.sec_app_api.repository;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveSegmentTest {
+
+    private static final int ACCOUNTS = 200;
+    private static final int ROWS_PER_ACCOUNT = 40;
+
+    @TempDir
+    Path dir;
+
+    private List<Transaction> rows;
+
+    @BeforeEach
+    void setUp() {
+        // Enough rows for several 64 KB blocks, so accounts straddle block boundaries
+        rows = new ArrayList<>();
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        for (int a = 0; a < ACCOUNTS; a++) {
+            for (int t = 0; t < ROWS_PER_ACCOUNT; t++) {
+                rows.add(Transaction.builder()
+                        .username(String.format("user%03d", a))
+                        .transactionId("tx-" + a + "-" + t)
+                        .kind(t % 2 == 0 ? "credit" : "debit")
+                        .amount(10.0 + t)
+                        .updatedBalance(t % 5 == 0 ? null : 100.0 * t)
+                        .timestamp(start.plusSeconds(3600L * t))
+                        .description("Payment number " + t + " of a fairly ordinary account")
+                        .recipient(t % 2 == 0 ? null : "user000")
+                        .build());
+            }
+        }
+        rows.sort(ArchiveSegment.ORDER);
+    }
+
+    @Test
+    void findsEveryAccountAndNothingElse() throws IOException {
+        ArchiveSegment segment = writeAndOpen("segment.bin");
+        for (int a = 0; a < ACCOUNTS; a++) {
+            String username = String.format("user%03d", a);
+            assertEquals(rowsOf(username), segment.findByUsername(username), username);
+        }
+        assertEquals(List.of(), segment.findByUsername("user050x"));
+        assertEquals(List.of(), segment.findByUsername("aaa"));
+        assertEquals(List.of(), segment.findByUsername("zzz"));
+    }
+
+    @Test
+    void forEachReturnsRowsInWrittenOrder() throws IOException {
+        ArchiveSegment segment = writeAndOpen("segment.bin");
+        List<Transaction> read = new ArrayList<>();
+        segment.forEach(read::add);
+        assertEquals(rows, read);
+    }
+
+    @Test
+    void transactionFilterHasNoFalseNegatives() throws IOException {
+        ArchiveSegment segment = writeAndOpen("segment.bin");
+        rows.forEach(t -> assertTrue(segment.mightContainTransaction(t.getTransactionId())));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (segment.mightContainTransaction("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, falsePositives + " false positives");
+    }
+
+    @Test
+    void emptySegmentFindsNothing() throws IOException {
+        rows = List.of();
+        ArchiveSegment segment = writeAndOpen("empty.bin");
+        assertEquals(List.of(), segment.findByUsername("user000"));
+    }
+
+    @Test
+    void mergeKeepsOneCopyOfEachTransactionInOrder() throws IOException {
+        List<Transaction> even = new ArrayList<>();
+        List<Transaction> odd = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            (i % 2 == 0 ? even : odd).add(rows.get(i));
+        }
+        // Rows of a failed delete end up in two segments
+        List<Transaction> overlap = new ArrayList<>(odd);
+        overlap.addAll(even.subList(0, 500));
+        overlap.sort(ArchiveSegment.ORDER);
+
+        ArchiveSegment.write(dir.resolve("even.bin"), even);
+        ArchiveSegment.write(dir.resolve("odd.bin"), overlap);
+        Path merged = dir.resolve("merged.bin");
+        ArchiveSegment.merge(merged, List.of(ArchiveSegment.open(dir.resolve("even.bin")),
+                ArchiveSegment.open(dir.resolve("odd.bin"))));
+
+        ArchiveSegment segment = ArchiveSegment.open(merged);
+        List<Transaction> read = new ArrayList<>();
+        segment.forEach(read::add);
+        assertEquals(rows, read);
+        assertEquals(rowsOf("user123"), segment.findByUsername("user123"));
+        rows.forEach(t -> assertTrue(segment.mightContainTransaction(t.getTransactionId())));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSegments() throws IOException {
+        Path file = Files.write(dir.resolve("junk.bin"), new byte[64]);
+        assertThrows(IOException.class, () -> ArchiveSegment.open(file));
+    }
+
+    private ArchiveSegment writeAndOpen(String name) throws IOException {
+        Path file = dir.resolve(name);
+        ArchiveSegment.write(file, rows);
+        return ArchiveSegment.open(file);
+    }
+
+    private List<Transaction> rowsOf(String username) {
+        return rows.stream().filter(t -> t.getUsername().equals(username)).toList();
+    }
+}
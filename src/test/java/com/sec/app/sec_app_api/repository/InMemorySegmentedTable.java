@@ -0,0 +1,87 @@
+package com.sec.app.sec_app_api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-in for a DynamoDB table in tests of bulk jobs. Items are
+ * assigned to scan segments by hashing their partition key, as DynamoDB does,
+ * so segment workers never see the same item twice.
+ */
+public class InMemorySegmentedTable<T> implements SegmentedTable<T> {
+
+    private static final String START_KEY = "key";
+
+    private final String tableName;
+    private final Class<T> itemType;
+    private final Function<T, String> partitionKey;
+    private final Function<T, String> itemKey;
+    private final NavigableMap<String, T> items = new ConcurrentSkipListMap<>();
+
+    public InMemorySegmentedTable(String tableName, Class<T> itemType,
+                                  Function<T, String> partitionKey, Function<T, String> itemKey) {
+        this.tableName = tableName;
+        this.itemType = itemType;
+        this.partitionKey = partitionKey;
+        this.itemKey = itemKey;
+    }
+
+    @Override
+    public String tableName() {
+        return tableName;
+    }
+
+    @Override
+    public Class<T> itemType() {
+        return itemType;
+    }
+
+    @Override
+    public ScanPage<T> scanSegment(int segment, int totalSegments, Map<String, String> startKey, int limit) {
+        NavigableMap<String, T> remaining = startKey == null || startKey.isEmpty()
+                ? items
+                : items.tailMap(startKey.get(START_KEY), false);
+
+        List<T> page = new ArrayList<>(limit);
+        String lastKey = null;
+        for (Map.Entry<String, T> entry : remaining.entrySet()) {
+            if (segmentOf(entry.getValue(), totalSegments) != segment) {
+                continue;
+            }
+            page.add(entry.getValue());
+            lastKey = entry.getKey();
+            if (page.size() == limit) {
+                return new ScanPage<>(page, Map.of(START_KEY, lastKey));
+            }
+        }
+        return new ScanPage<>(page, null);
+    }
+
+    @Override
+    public List<T> batchPut(List<T> batch) {
+        batch.forEach(this::put);
+        return List.of();
+    }
+
+    @Override
+    public List<T> batchDelete(List<T> batch) {
+        batch.forEach(item -> items.remove(itemKey.apply(item)));
+        return List.of();
+    }
+
+    public void put(T item) {
+        items.put(itemKey.apply(item), item);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private int segmentOf(T item, int totalSegments) {
+        return Math.floorMod(partitionKey.apply(item).hashCode(), totalSegments);
+    }
+}
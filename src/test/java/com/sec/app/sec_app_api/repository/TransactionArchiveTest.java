@@ -0,0 +1,109 @@
+package com.sec.app.sec_app_api.repository;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionArchiveTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compactionMergesSmallestSegmentsAndReadersFollow() throws IOException {
+        TransactionArchive writer = archive(Duration.ZERO);
+        TransactionArchive reader = archive(Duration.ZERO);
+        List<Transaction> all = new ArrayList<>();
+        for (int s = 0; s < 5; s++) {
+            List<Transaction> rows = new ArrayList<>();
+            for (int i = 0; i <= s * 10; i++) {
+                rows.add(row("user" + (i % 3), "tx-" + s + "-" + i));
+            }
+            rows.sort(ArchiveSegment.ORDER);
+            writer.write(rows);
+            all.addAll(rows);
+        }
+        // Lets the reader map the segments before they are merged away
+        assertEquals(rowsOf(all, "user1"), sorted(reader.findByUsername("user1")));
+        assertEquals(5, reader.segmentCount());
+
+        assertEquals(2, writer.compact());
+        assertEquals(4, writer.segmentCount());
+        assertEquals(4, segmentFiles());
+
+        assertEquals(rowsOf(all, "user1"), sorted(reader.findByUsername("user1")));
+        assertEquals(4, reader.segmentCount());
+        List<Transaction> visited = new ArrayList<>();
+        reader.forEach(visited::add);
+        assertEquals(all.size(), visited.size());
+    }
+
+    @Test
+    void nothingToCompactBelowTheLimit() throws IOException {
+        TransactionArchive archive = archive(Duration.ZERO);
+        archive.write(List.of(row("alice", "1")));
+        archive.write(List.of(row("bob", "1")));
+        assertEquals(0, archive.compact());
+        assertEquals(2, archive.segmentCount());
+    }
+
+    @Test
+    void lookupsCheckForNewSegmentsOncePerInterval() throws IOException {
+        TransactionArchive writer = archive(Duration.ZERO);
+        TransactionArchive reader = archive(Duration.ofHours(1));
+        writer.write(List.of(row("alice", "1")));
+
+        assertEquals(List.of(), reader.findByUsername("alice"));
+        reader.refresh();
+        assertEquals(1, reader.findByUsername("alice").size());
+    }
+
+    private TransactionArchive archive(Duration refreshInterval) throws IOException {
+        TransactionArchive archive = new TransactionArchive();
+        ReflectionTestUtils.setField(archive, "dir", dir);
+        ReflectionTestUtils.setField(archive, "refreshInterval", refreshInterval);
+        ReflectionTestUtils.setField(archive, "maxSegments", 4);
+        archive.loadSegments();
+        return archive;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static List<Transaction> rowsOf(List<Transaction> rows, String username) {
+        return sorted(rows.stream().filter(t -> t.getUsername().equals(username)).toList());
+    }
+
+    private static List<Transaction> sorted(List<Transaction> rows) {
+        return rows.stream().sorted(Comparator.comparing(Transaction::getTransactionId)).toList();
+    }
+
+    private static Transaction row(String username, String id) {
+        return Transaction.builder()
+                .username(username)
+                .transactionId(id)
+                .kind("credit")
+                .amount(1.0)
+                .updatedBalance(1.0)
+                .timestamp(T0)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountTotalsTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void sumsCreditsMinusDebitsAndTracksLatestBalance() {
+        AccountTotals totals = new AccountTotals();
+        totals.add(row("alice", "b", "credit", 100.0, 100.0, T0));
+        totals.add(row("alice", "c", "debit", 30.0, 70.0, T0.plusSeconds(2)));
+        totals.add(row("alice", "a", "credit", 5.0, 75.0, T0.plusSeconds(1)));
+
+        int slot = totals.find("alice");
+        assertEquals(75.0, totals.sum(slot));
+        assertEquals(3, totals.count(slot));
+        assertEquals(70.0, totals.lastBalance(slot));
+        assertEquals(-1, totals.find("bob"));
+    }
+
+    @Test
+    void equalTimestampsAreOrderedByTransactionId() {
+        AccountTotals totals = new AccountTotals();
+        totals.add(row("alice", "2", "credit", 10.0, 20.0, T0));
+        totals.add(row("alice", "1", "credit", 10.0, 10.0, T0));
+        assertEquals(20.0, totals.lastBalance(totals.find("alice")));
+    }
+
+    @Test
+    void keepsEveryAccountAcrossResizes() {
+        AccountTotals totals = new AccountTotals();
+        for (int i = 0; i < 5_000; i++) {
+            totals.add(row("user" + i, "1", "credit", (double) i, (double) i, T0));
+            totals.add(row("user" + i, "2", "debit", 1.0, i - 1.0, T0.plusSeconds(1)));
+        }
+        assertEquals(5_000, totals.size());
+        for (int i = 0; i < 5_000; i++) {
+            int slot = totals.find("user" + i);
+            assertEquals(i - 1.0, totals.sum(slot));
+            assertEquals(2, totals.count(slot));
+            assertEquals(i - 1.0, totals.lastBalance(slot));
+        }
+    }
+
+    @Test
+    void mergeCombinesTotalsAndKeepsLatestRow() {
+        AccountTotals left = new AccountTotals();
+        left.add(row("alice", "1", "credit", 50.0, 50.0, T0));
+        left.add(row("bob", "1", "credit", 5.0, 5.0, T0));
+        AccountTotals right = new AccountTotals();
+        right.add(row("alice", "2", "debit", 20.0, 30.0, T0.plusSeconds(1)));
+        right.add(row("carol", "1", "credit", 7.0, 7.0, T0));
+
+        left.merge(right);
+
+        int alice = left.find("alice");
+        assertEquals(30.0, left.sum(alice));
+        assertEquals(2, left.count(alice));
+        assertEquals(30.0, left.lastBalance(alice));
+        assertEquals(7.0, left.sum(left.find("carol")));
+        assertEquals(3, left.size());
+    }
+
+    @Test
+    void forEachUnmatchedSkipsMatchedAccounts() {
+        AccountTotals totals = new AccountTotals();
+        totals.add(row("alice", "1", "credit", 1.0, 1.0, T0));
+        totals.add(row("orphan", "1", "credit", 1.0, 1.0, T0));
+        totals.markMatched(totals.find("alice"));
+
+        List<String> unmatched = new ArrayList<>();
+        totals.forEachUnmatched(slot -> unmatched.add(totals.key(slot)));
+        assertEquals(List.of("orphan"), unmatched);
+    }
+
+    private static Transaction row(String username, String id, String kind, Double amount, Double balance,
+                                   Instant timestamp) {
+        return Transaction.builder()
+                .username(username)
+                .transactionId(id)
+                .kind(kind)
+                .amount(amount)
+                .updatedBalance(balance)
+                .timestamp(timestamp)
+                .build();
+    }
+}
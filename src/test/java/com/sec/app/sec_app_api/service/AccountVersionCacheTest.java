@@ -0,0 +1,65 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AccountVersionCacheTest {
+
+    @Test
+    void keepsTheHighestVersion() {
+        AccountVersionCache cache = cache(10, Duration.ofMinutes(1));
+        cache.update("alice", 5);
+        cache.update("alice", 3);
+        assertEquals(5L, cache.get("alice"));
+        cache.update("alice", 6);
+        assertEquals(6L, cache.get("alice"));
+    }
+
+    @Test
+    void entriesExpireOutsideClusterMode() throws InterruptedException {
+        AccountVersionCache cache = cache(10, Duration.ofMillis(20));
+        cache.update("alice", 1);
+        assertEquals(1L, cache.get("alice"));
+        Thread.sleep(40);
+        assertNull(cache.get("alice"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAccountWhenFull() {
+        AccountVersionCache cache = cache(2, Duration.ofMinutes(1));
+        cache.update("alice", 1);
+        cache.update("bob", 1);
+        cache.get("alice");
+        cache.update("carol", 1);
+
+        assertEquals(1L, cache.get("alice"));
+        assertNull(cache.get("bob"));
+        assertEquals(1L, cache.get("carol"));
+    }
+
+    @Test
+    void importOfUsersClearsTheCache() {
+        AccountVersionCache cache = cache(10, Duration.ofMinutes(1));
+        cache.update("alice", 1);
+        cache.onTablesImported(new TablesImportedEvent(List.of("transactions")));
+        assertEquals(1L, cache.get("alice"));
+        cache.onTablesImported(new TablesImportedEvent(List.of("users", "transactions")));
+        assertNull(cache.get("alice"));
+    }
+
+    private static AccountVersionCache cache(int maxSize, Duration ttl) {
+        AccountVersionCache cache = new AccountVersionCache(new ClusterMembership(event -> { }));
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttl", ttl);
+        ReflectionTestUtils.setField(cache, "refreshMillis", 5000L);
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,46 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.exception.BankingException;
+import com.sec.app.sec_app_api.exception.InsufficientFundsException;
+import com.sec.app.sec_app_api.exception.RecipientNotFoundException;
+import com.sec.app.sec_app_api.exception.UserNotFoundException;
+import com.sec.app.sec_app_api.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BankingServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BankingService service = new BankingService(userRepository, null, null, null, null, null, null,
+            null);
+
+    @Test
+    void rejectionsAreSharedInstancesWithoutStackTraces() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("sender"))
+                .thenReturn(Optional.of(User.builder().username("sender").balance(10.0).version(1L).build()));
+
+        assertRejectedWith(InsufficientFundsException.INSTANCE, () -> service.payUser("sender", "recipient", 100.0));
+        assertRejectedWith(RecipientNotFoundException.INSTANCE, () -> service.payUser("sender", "nobody", 1.0));
+        assertRejectedWith(UserNotFoundException.INSTANCE, () -> service.payUser("nobody", "sender", 1.0));
+        verify(userRepository, never()).save(any());
+    }
+
+    private static void assertRejectedWith(BankingException expected, Runnable payment) {
+        BankingException thrown = assertThrows(BankingException.class, payment::run);
+        assertSame(expected, thrown);
+        assertEquals(0, thrown.getStackTrace().length);
+    }
+}
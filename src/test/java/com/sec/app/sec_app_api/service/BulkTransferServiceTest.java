@@ -0,0 +1,186 @@
+package com.sec.app.sec_app_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.repository.InMemorySegmentedTable;
+import com.sec.app.sec_app_api.repository.SegmentedTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkTransferServiceTest {
+
+    private static final List<String> TABLES = List.of("users", "transactions");
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path dir;
+
+    private InMemorySegmentedTable<User> users;
+    private InMemorySegmentedTable<Transaction> transactions;
+
+    @BeforeEach
+    void setUp() {
+        users = userTable();
+        transactions = transactionTable();
+        for (int u = 0; u < 20; u++) {
+            String username = "user" + u;
+            users.put(User.builder().username(username).passwordHash("hash").balance(100.0 + u).version(3L).build());
+            for (int t = 0; t < 30; t++) {
+                transactions.put(Transaction.builder()
+                        .username(username)
+                        .transactionId(String.format("%04d", t))
+                        .kind(t % 2 == 0 ? "credit" : "debit")
+                        .amount(1.5 * t)
+                        .updatedBalance(100.0 + t)
+                        .timestamp(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(t))
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void exportThenImportRestoresEveryItem() throws IOException {
+        assertEquals(620, service(List.of(users, transactions), 4).exportTables(dir, TABLES));
+
+        InMemorySegmentedTable<User> restoredUsers = userTable();
+        InMemorySegmentedTable<Transaction> restoredTransactions = transactionTable();
+        assertEquals(620, service(List.of(restoredUsers, restoredTransactions), 4).importTables(dir, TABLES));
+
+        assertEquals(items(users), items(restoredUsers));
+        assertEquals(items(transactions), items(restoredTransactions));
+    }
+
+    @Test
+    void resumedExportDropsTornOutputAndWritesEachItemOnce() throws IOException {
+        FailingTable<Transaction> failing = new FailingTable<>(transactions, 3, Integer.MAX_VALUE);
+        assertThrows(IllegalStateException.class,
+                () -> service(List.of(failing), 4).exportTables(dir, List.of("transactions")));
+
+        // A member cut short by the crash, after the last checkpoint
+        Path segment = dir.resolve("transactions/segment-0000.ndjson.gz");
+        Files.write(segment, new byte[]{0x1f, (byte) 0x8b, 8, 0, 0}, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        service(List.of(transactions), 4).exportTables(dir, List.of("transactions"));
+
+        assertEquals(600, exportedLines(dir.resolve("transactions")));
+        InMemorySegmentedTable<Transaction> restored = transactionTable();
+        service(List.of(restored), 4).importTables(dir, List.of("transactions"));
+        assertEquals(items(transactions), items(restored));
+    }
+
+    @Test
+    void interruptedImportResumesWithDifferentParallelism() throws IOException {
+        service(List.of(transactions), 4).exportTables(dir, List.of("transactions"));
+
+        InMemorySegmentedTable<Transaction> restored = transactionTable();
+        FailingTable<Transaction> failing = new FailingTable<>(restored, Integer.MAX_VALUE, 5);
+        assertThrows(IllegalStateException.class,
+                () -> service(List.of(failing), 4).importTables(dir, List.of("transactions")));
+
+        service(List.of(restored), 2).importTables(dir, List.of("transactions"));
+        assertEquals(items(transactions), items(restored));
+    }
+
+    private BulkTransferService service(List<SegmentedTable<?>> tables, int parallelism) {
+        BulkTransferService service = new BulkTransferService(tables, objectMapper, event -> { });
+        ReflectionTestUtils.setField(service, "parallelism", parallelism);
+        ReflectionTestUtils.setField(service, "pageSize", 20);
+        ReflectionTestUtils.setField(service, "writeRate", 0);
+        ReflectionTestUtils.setField(service, "maxRetries", 3);
+        ReflectionTestUtils.setField(service, "checkpointInterval", 25);
+        return service;
+    }
+
+    private static InMemorySegmentedTable<User> userTable() {
+        return new InMemorySegmentedTable<>("users", User.class, User::getUsername, User::getUsername);
+    }
+
+    private static InMemorySegmentedTable<Transaction> transactionTable() {
+        return new InMemorySegmentedTable<>("transactions", Transaction.class, Transaction::getUsername,
+                t -> t.getUsername() + '\u0000' + t.getTransactionId());
+    }
+
+    private static <T> List<T> items(InMemorySegmentedTable<T> table) {
+        return table.scanSegment(0, 1, null, table.size() + 1).items();
+    }
+
+    private static long exportedLines(Path tableDir) throws IOException {
+        long lines = 0;
+        try (Stream<Path> files = Files.list(tableDir)) {
+            for (Path file : files.toList()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    lines += reader.lines().count();
+                }
+            }
+        }
+        return lines;
+    }
+
+    /** Fails the scan or the batch write after a number of successful calls, like a crashed run. */
+    private static final class FailingTable<T> implements SegmentedTable<T> {
+
+        private final SegmentedTable<T> delegate;
+        private final AtomicInteger scansLeft;
+        private final AtomicInteger writesLeft;
+
+        FailingTable(SegmentedTable<T> delegate, int scans, int writes) {
+            this.delegate = delegate;
+            this.scansLeft = new AtomicInteger(scans);
+            this.writesLeft = new AtomicInteger(writes);
+        }
+
+        @Override
+        public String tableName() {
+            return delegate.tableName();
+        }
+
+        @Override
+        public Class<T> itemType() {
+            return delegate.itemType();
+        }
+
+        @Override
+        public ScanPage<T> scanSegment(int segment, int totalSegments, Map<String, String> startKey, int limit) {
+            if (scansLeft.getAndDecrement() <= 0) {
+                throw new IllegalStateException("scan failed");
+            }
+            return delegate.scanSegment(segment, totalSegments, startKey, limit);
+        }
+
+        @Override
+        public List<T> batchPut(List<T> items) {
+            if (writesLeft.getAndDecrement() <= 0) {
+                throw new IllegalStateException("write failed");
+            }
+            return delegate.batchPut(items);
+        }
+
+        @Override
+        public List<T> batchDelete(List<T> items) {
+            return delegate.batchDelete(items);
+        }
+    }
+}
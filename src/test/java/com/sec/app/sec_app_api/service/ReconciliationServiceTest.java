@@ -0,0 +1,147 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport;
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport.AccountDrift;
+import com.sec.app.sec_app_api.dto.response.ReconciliationReport.DriftType;
+import com.sec.app.sec_app_api.entity.Transaction;
+import com.sec.app.sec_app_api.entity.User;
+import com.sec.app.sec_app_api.repository.ArchiveSegment;
+import com.sec.app.sec_app_api.repository.InMemorySegmentedTable;
+import com.sec.app.sec_app_api.repository.TransactionArchive;
+import com.sec.app.sec_app_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReconciliationServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private final InMemorySegmentedTable<User> users = new InMemorySegmentedTable<>("users", User.class,
+            User::getUsername, User::getUsername);
+    private final InMemorySegmentedTable<Transaction> transactions = new InMemorySegmentedTable<>("transactions",
+            Transaction.class, Transaction::getUsername, t -> t.getUsername() + '\u0000' + t.getTransactionId());
+    // What a re-read returns, standing in for writes made while the scans ran
+    private final Map<String, User> current = new HashMap<>();
+    private TransactionArchive archive;
+    private ReconciliationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archive = new TransactionArchive();
+        ReflectionTestUtils.setField(archive, "dir", dir);
+        ReflectionTestUtils.setField(archive, "refreshInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(archive, "maxSegments", 16);
+        archive.loadSegments();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(current.get(invocation.<String>getArgument(0))));
+
+        service = new ReconciliationService(users, transactions, archive, userRepository,
+                new LedgerMaintenanceLock(), new ClusterMembership(event -> { }));
+        ReflectionTestUtils.setField(service, "segments", 4);
+        ReflectionTestUtils.setField(service, "pageSize", 7);
+        ReflectionTestUtils.setField(service, "tolerance", 0.005);
+        ReflectionTestUtils.setField(service, "maxReported", 100);
+    }
+
+    @Test
+    void rowsInBothTiersCountOnce() throws IOException {
+        List<Transaction> ledger = new ArrayList<>();
+        for (int u = 0; u < 30; u++) {
+            ledger.addAll(ledger("user" + u, 10.0, 5));
+            user("user" + u, 50.0, T0);
+        }
+        ledger.forEach(transactions::put);
+        // Half archived, a third of those still in the table as after a failed delete
+        List<Transaction> archived = new ArrayList<>(ledger.subList(0, ledger.size() / 2));
+        archived.sort(ArchiveSegment.ORDER);
+        archive.write(archived);
+        transactions.batchDelete(archived.subList(0, archived.size() * 2 / 3));
+
+        ReconciliationReport report = service.reconcile();
+
+        assertEquals(0, report.getDriftCount());
+        assertEquals(ledger.size(), report.getTransactionsScanned());
+        assertEquals(30, report.getUsersChecked());
+    }
+
+    @Test
+    void reportsDriftOnlyForAccountsNotWrittenDuringTheRun() {
+        ledger("drifted", 10.0, 2).forEach(transactions::put);
+        user("drifted", 25.0, T0);
+        ledger("paying", 10.0, 2).forEach(transactions::put);
+        user("paying", 25.0, T0);
+        // The user row was scanned before a payment landed
+        current.put("paying", User.builder().username("paying").balance(30.0).updatedAt(Instant.now().plusSeconds(60))
+                .build());
+        ledger("fresh", 10.0, 2).forEach(transactions::put);
+        user("fresh", 25.0, Instant.now().plusSeconds(60));
+
+        ReconciliationReport report = service.reconcile();
+
+        assertEquals(1, report.getDriftCount());
+        assertEquals(2, report.getSkipped());
+        AccountDrift drift = report.getDrifts().get(0);
+        assertEquals("drifted", drift.getUsername());
+        assertEquals(DriftType.BALANCE_MISMATCH, drift.getType());
+        assertEquals(20.0, drift.getLedgerSum());
+    }
+
+    @Test
+    void ledgerOfAUserRegisteredDuringTheRunIsNotAnOrphan() {
+        ledger("orphan", 10.0, 1).forEach(transactions::put);
+        ledger("newcomer", 10.0, 1).forEach(transactions::put);
+        current.put("newcomer", User.builder().username("newcomer").balance(10.0)
+                .updatedAt(Instant.now().plusSeconds(60)).build());
+
+        ReconciliationReport report = service.reconcile();
+
+        assertEquals(1, report.getDriftCount());
+        assertEquals(1, report.getSkipped());
+        assertEquals("orphan", report.getDrifts().get(0).getUsername());
+        assertEquals(DriftType.ORPHAN_LEDGER, report.getDrifts().get(0).getType());
+    }
+
+    private void user(String username, double balance, Instant updatedAt) {
+        User user = User.builder().username(username).balance(balance).updatedAt(updatedAt).build();
+        users.put(user);
+        current.putIfAbsent(username, user);
+    }
+
+    private static List<Transaction> ledger(String username, double amount, int count) {
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(Transaction.builder()
+                    .username(username)
+                    .transactionId(username + "-" + i)
+                    .kind("credit")
+                    .amount(amount)
+                    .updatedBalance(amount * (i + 1))
+                    .timestamp(T0.plusSeconds(i))
+                    .build());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,172 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.cluster.ClusterMembership;
+import com.sec.app.sec_app_api.cluster.ClusterMembershipChangedEvent;
+import com.sec.app.sec_app_api.cluster.ConsistentHashRing;
+import com.sec.app.sec_app_api.entity.StandingOrder;
+import com.sec.app.sec_app_api.exception.InsufficientFundsException;
+import com.sec.app.sec_app_api.exception.RecipientNotFoundException;
+import com.sec.app.sec_app_api.repository.StandingOrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StandingOrderSchedulerTest {
+
+    private static final String A = "http://a:8080";
+    private static final String B = "http://b:8080";
+    private static final String C = "http://c:8080";
+
+    private final StandingOrderRepository orderRepository = mock(StandingOrderRepository.class);
+    private final BankingService bankingService = mock(BankingService.class);
+    private final List<StandingOrder> orders = new ArrayList<>();
+    private ClusterMembership membership;
+    private StandingOrderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        membership = new ClusterMembership(event -> { });
+        ReflectionTestUtils.setField(membership, "enabled", true);
+        ReflectionTestUtils.setField(membership, "self", A);
+        ReflectionTestUtils.setField(membership, "staticMembers", List.of(A, B));
+        ReflectionTestUtils.setField(membership, "membersFile", "");
+        ReflectionTestUtils.setField(membership, "virtualNodes", 128);
+        membership.init();
+
+        for (int i = 0; i < 300; i++) {
+            orders.add(StandingOrder.builder()
+                    .username("user" + i)
+                    .orderId("order" + i)
+                    .recipient("bob")
+                    .amount(1.0)
+                    .intervalMinutes(60L)
+                    .nextRunAt(Instant.now().plus(Duration.ofHours(1)))
+                    .status("active")
+                    .runCount(0L)
+                    .failureCount(0L)
+                    .build());
+        }
+        when(orderRepository.findAllActive()).thenReturn(orders);
+
+        scheduler = new StandingOrderScheduler(bankingService, orderRepository, membership);
+        ReflectionTestUtils.setField(scheduler, "tick", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(scheduler, "jitter", Duration.ZERO);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 50);
+        ReflectionTestUtils.setField(scheduler, "workers", 1);
+        ReflectionTestUtils.setField(scheduler, "maxConsecutiveFailures", 3);
+        scheduler.init();
+        orders.stream().filter(o -> membership.isLocal(o.getUsername())).forEach(scheduler::schedule);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void releasesOrdersOfAccountsANewNodeTakesOver() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(A, B), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(A, B, C), 128);
+        long ownedBefore = owned(before);
+        assertEquals(ownedBefore, scheduler.getStats().getScheduled());
+
+        scheduler.onMembershipChanged(new ClusterMembershipChangedEvent(before, after));
+
+        long ownedAfter = owned(after);
+        assertTrue(ownedAfter < ownedBefore);
+        assertEquals(ownedAfter, scheduler.getStats().getScheduled());
+    }
+
+    @Test
+    void acquiresOrdersOfANodeThatLeft() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(A, B), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(A), 128);
+
+        scheduler.onMembershipChanged(new ClusterMembershipChangedEvent(before, after));
+
+        assertEquals(orders.size(), scheduler.getStats().getScheduled());
+    }
+
+    @Test
+    void suspendsOrdersAfterRepeatedRejections() {
+        StandingOrder order = localOrder();
+        rejectPaymentsWith(InsufficientFundsException.INSTANCE);
+
+        run(order);
+        run(order);
+        verify(orderRepository, never()).suspend(any());
+        run(order);
+
+        verify(orderRepository).suspend(order);
+        assertEquals(3L, order.getConsecutiveFailures());
+        assertEquals(3L, order.getFailureCount());
+        assertEquals(1, scheduler.getStats().getSuspended());
+        assertEquals(3, scheduler.getStats().getFailed());
+        assertEquals(owned(new ConsistentHashRing(List.of(A, B), 128)) - 1, scheduler.getStats().getScheduled());
+    }
+
+    @Test
+    void successfulRunResetsTheRejectionStreak() {
+        StandingOrder order = localOrder();
+        rejectPaymentsWith(InsufficientFundsException.INSTANCE);
+        run(order);
+        run(order);
+        reset(bankingService);
+        run(order);
+
+        assertEquals(0L, order.getConsecutiveFailures());
+        assertEquals(2L, order.getFailureCount());
+        verify(orderRepository, never()).suspend(any());
+    }
+
+    @Test
+    void suspendsRightAwayWhenTheRecipientIsGone() {
+        StandingOrder order = localOrder();
+        rejectPaymentsWith(RecipientNotFoundException.INSTANCE);
+
+        run(order);
+
+        verify(orderRepository).suspend(order);
+    }
+
+    private StandingOrder localOrder() {
+        StandingOrder order = orders.stream()
+                .filter(o -> membership.isLocal(o.getUsername()))
+                .findFirst()
+                .orElseThrow();
+        when(orderRepository.claim(any(), any())).thenReturn(true);
+        when(orderRepository.recordRun(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.suspend(any())).thenReturn(true);
+        return order;
+    }
+
+    private void rejectPaymentsWith(RuntimeException rejection) {
+        when(bankingService.payUser(anyString(), anyString(), anyDouble())).thenThrow(rejection);
+    }
+
+    private void run(StandingOrder order) {
+        ReflectionTestUtils.invokeMethod(scheduler, "execute", order);
+    }
+
+    private long owned(ConsistentHashRing ring) {
+        return orders.stream().filter(o -> A.equals(ring.ownerOf(o.getUsername()))).count();
+    }
+}
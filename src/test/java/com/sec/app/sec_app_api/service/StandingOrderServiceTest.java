@@ -0,0 +1,49 @@
+package com.sec.app.sec_app_api.service;
+
+import com.sec.app.sec_app_api.dto.response.StandingOrderResponse;
+import com.sec.app.sec_app_api.entity.StandingOrder;
+import com.sec.app.sec_app_api.exception.RecipientNotFoundException;
+import com.sec.app.sec_app_api.exception.SelfPaymentException;
+import com.sec.app.sec_app_api.repository.StandingOrderRepository;
+import com.sec.app.sec_app_api.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StandingOrderServiceTest {
+
+    private final StandingOrderRepository orderRepository = mock(StandingOrderRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final StandingOrderScheduler scheduler = mock(StandingOrderScheduler.class);
+    private final StandingOrderService service = new StandingOrderService(orderRepository, userRepository, scheduler);
+
+    @Test
+    void rejectsOrdersToYourself() {
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+        assertThrows(SelfPaymentException.class, () -> service.createOrder("alice", "alice", 10.0, 60L, null));
+        verify(orderRepository, never()).save(any());
+        verify(scheduler, never()).schedule(any());
+    }
+
+    @Test
+    void rejectsOrdersToUnknownRecipients() {
+        when(userRepository.existsByUsername("ghost")).thenReturn(false);
+        assertThrows(RecipientNotFoundException.class, () -> service.createOrder("alice", "ghost", 10.0, 60L, null));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void savesAndSchedulesValidOrders() {
+        when(userRepository.existsByUsername("bob")).thenReturn(true);
+        StandingOrderResponse response = service.createOrder("alice", "bob", 10.0, 60L, null);
+        assertEquals("active", response.getStatus());
+        verify(orderRepository).save(any(StandingOrder.class));
+        verify(scheduler).schedule(any(StandingOrder.class));
+    }
+}
@@ -0,0 +1,68 @@
+package com.sec.app.sec_app_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void rejectsWheelSizeThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(TICK, 6, 2, 0));
+    }
+
+    @Test
+    void overdueEntriesFireOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 2, 1_000);
+        wheel.schedule("late", 500);
+        wheel.schedule("now", 1_000);
+        assertEquals(2, wheel.size());
+        assertEquals(List.of("late", "now"), wheel.advance(1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void entriesFireInTheTickTheyAreDueAcrossLevelsAndOverflow() {
+        // 4 buckets, 2 levels: level 0 spans 4 ticks, level 1 spans 16, the rest overflows
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 4, 2, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> dueTicks = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            long due = random.nextInt(100 * (int) TICK);
+            dueTicks.put(i, due / TICK);
+            wheel.schedule(i, due);
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        for (long tick = 0; tick <= 100; tick++) {
+            for (int item : wheel.advance(tick * TICK + random.nextInt((int) TICK))) {
+                assertEquals(dueTicks.get(item), tick, "item " + item);
+                fired.add(item);
+            }
+        }
+        assertEquals(500, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void largeJumpReturnsEverythingDueSoFar() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 4, 2, 0);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, i * 37L);
+        }
+        List<Integer> due = wheel.advance(1_000);
+        assertEquals(28, due.size()); // 0, 37, ..., 999
+        assertTrue(due.stream().allMatch(i -> i * 37L <= 1_000));
+        assertEquals(72, wheel.size());
+    }
+}
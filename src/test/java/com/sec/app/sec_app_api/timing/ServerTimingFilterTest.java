@@ -0,0 +1,125 @@
+package com.sec.app.sec_app_api.timing;
+
+import com.sec.app.sec_app_api.controller.BankingController;
+import com.sec.app.sec_app_api.dto.response.TransactionResponse;
+import com.sec.app.sec_app_api.service.BankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ServerTimingFilterTest {
+
+    private static final String METRIC = "\\d+\\.\\d";
+
+    private final BankingService bankingService = mock(BankingService.class);
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "headerEnabled", true);
+        ReflectionTestUtils.setField(filter, "slowThreshold", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(filter, "slowSampleRate", 1.0);
+        when(bankingService.getAccountVersion("alice")).thenReturn(4L);
+        when(bankingService.getTransactionHistory("alice")).thenAnswer(invocation -> {
+            // Two timed repository calls, as UserRepository would record them
+            RequestTimings.stop(Span.USER_DB, RequestTimings.start());
+            RequestTimings.stop(Span.USER_DB, RequestTimings.start());
+            return List.of(new TransactionResponse("credit", 10.0, 10.0, Instant.now()));
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new BankingController(bankingService))
+                .addFilters(filter)
+                .addInterceptors(new HandlerTimingInterceptor())
+                .setControllerAdvice(new ServerTimingAdvice(filter))
+                .build();
+    }
+
+    @Test
+    void adviceAddsTheHeaderBeforeTheBodyIsWritten() throws Exception {
+        String value = mockMvc.perform(get("/stmt").principal(alice()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+        assertTrue(value.matches("total;dur=" + METRIC + ", handler;dur=" + METRIC
+                + ", user-db;dur=" + METRIC + ";desc=\"2 calls\""), value);
+        assertNull(RequestTimings.current(), "span state ends with the request");
+    }
+
+    @Test
+    void filterAddsTheHeaderToBodylessResponses() throws Exception {
+        String value = mockMvc.perform(get("/stmt").principal(alice()).header("If-None-Match", "W/\"stmt-4\""))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+        assertTrue(value.matches("total;dur=" + METRIC + ", handler;dur=" + METRIC), value);
+    }
+
+    @Test
+    void noHeaderUnlessEnabled() throws Exception {
+        ReflectionTestUtils.setField(filter, "headerEnabled", false);
+
+        mockMvc.perform(get("/stmt").principal(alice()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    void filterIsSkippedWhenHeaderAndSlowLogAreOff() {
+        ReflectionTestUtils.setField(filter, "headerEnabled", false);
+        ReflectionTestUtils.setField(filter, "slowThreshold", Duration.ZERO);
+
+        assertTrue(filter.shouldNotFilter(null));
+    }
+
+    @Test
+    void passwordChecksAndSdkCallsAreRecordedOnlyInsideARequest() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), anyString())).thenReturn(true);
+        TimingPasswordEncoder encoder = new TimingPasswordEncoder(delegate);
+        SdkTimingInterceptor sdk = new SdkTimingInterceptor();
+
+        // Scheduled jobs run outside a request and record nothing
+        assertTrue(encoder.matches("password", "hash"));
+        assertNull(RequestTimings.current());
+
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            assertTrue(encoder.matches("password", "hash"));
+            sdk.beforeTransmission(null, null);
+            sdk.afterTransmission(null, null);
+            sdk.afterTransmission(null, null);
+            String value = timings.render();
+            assertTrue(value.matches("total;dur=" + METRIC + ", auth;dur=" + METRIC
+                    + ", dynamodb;dur=" + METRIC), value);
+            assertFalse(value.contains("calls"), "a close without an open is ignored");
+        } finally {
+            timings.end();
+        }
+        verify(delegate, times(2)).matches("password", "hash");
+    }
+
+    private static UsernamePasswordAuthenticationToken alice() {
+        return new UsernamePasswordAuthenticationToken("alice", null);
+    }
+}
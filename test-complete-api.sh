@@ -397,15 +397,179 @@ test_endpoint \
     "$BANKING_AUTH_HEADER1" \
     "400"
 
+# ===========================
+# ADMIN TESTS
+# ===========================
+
+# Admin endpoints need the server started with --bank.admin.usernames=$BANKING_USERNAME1
+print_header "Admin Tests"
+
+# Test 25: Reconcile ledger
+print_header "Test 25: Reconcile Ledger"
+test_endpoint \
+    "Reconcile Ledger" \
+    "POST" \
+    "$API_BASE_URL/admin/reconcile" \
+    "" \
+    "$BANKING_AUTH_HEADER1" \
+    "200"
+
+# Test 26: Last reconciliation report
+print_header "Test 26: Last Reconciliation Report"
+test_endpoint \
+    "Last Reconciliation Report" \
+    "GET" \
+    "$API_BASE_URL/admin/reconcile" \
+    "" \
+    "$BANKING_AUTH_HEADER1" \
+    "200"
+
+# Test 27: Admin endpoint as a regular user
+print_header "Test 27: Admin Endpoint as Regular User (Should Fail)"
+test_endpoint \
+    "Admin Endpoint as Regular User" \
+    "POST" \
+    "$API_BASE_URL/admin/reconcile" \
+    "" \
+    "$BANKING_AUTH_HEADER2" \
+    "403"
+
+# ===========================
+# ENCODING TESTS
+# ===========================
+
+print_header "Encoding Tests"
+
+# Test 28: Statement as CBOR
+print_header "Test 28: Statement as CBOR"
+content_type=$(curl -s -o /dev/null -w '%{content_type}' "$API_BASE_URL/stmt" \
+    -H "Authorization: $BANKING_AUTH_HEADER1" -H "Accept: application/cbor")
+if [ "$content_type" = "application/cbor" ]; then
+    print_success "Statement as CBOR - Content-Type: $content_type"
+else
+    print_error "Statement as CBOR - Expected: application/cbor, Got: $content_type"
+fi
+
+# ===========================
+# CONDITIONAL REQUEST TESTS
+# ===========================
+
+print_header "Conditional Request Tests"
+
+# Test 29: Unchanged statement answers 304 Not Modified
+print_header "Test 29: Statement with If-None-Match (Should be 304)"
+etag=$(curl -s -D - -o /dev/null "$API_BASE_URL/stmt" -H "Authorization: $BANKING_AUTH_HEADER1" \
+    | grep -i '^etag:' | cut -d' ' -f2- | tr -d '\r')
+echo "ETag: $etag"
+not_modified_status=$(curl -s -o /dev/null -w '%{http_code}' "$API_BASE_URL/stmt" \
+    -H "Authorization: $BANKING_AUTH_HEADER1" -H "If-None-Match: $etag")
+if [ -n "$etag" ] && [ "$not_modified_status" = "304" ]; then
+    print_success "Statement If-None-Match - Status: $not_modified_status"
+else
+    print_error "Statement If-None-Match - Expected: 304, Got: $not_modified_status"
+fi
+
+# Test 30: Statement after a change carries a new ETag
+print_header "Test 30: Statement after Funding (Should be 200)"
+curl -s -o /dev/null -X POST "$API_BASE_URL/fund" -H "Authorization: $BANKING_AUTH_HEADER1" \
+    -H "Content-Type: application/json" -d '{"amt":1}'
+modified_status=$(curl -s -o /dev/null -w '%{http_code}' "$API_BASE_URL/stmt" \
+    -H "Authorization: $BANKING_AUTH_HEADER1" -H "If-None-Match: $etag")
+if [ "$modified_status" = "200" ]; then
+    print_success "Statement after Funding - Status: $modified_status"
+else
+    print_error "Statement after Funding - Expected: 200, Got: $modified_status"
+fi
+
+# ===========================
+# ARCHIVAL TESTS
+# ===========================
+
+print_header "Archival Tests"
+
+# Test 31: Archive old transactions
+print_header "Test 31: Archive Old Transactions"
+test_endpoint \
+    "Archive Old Transactions" \
+    "POST" \
+    "$API_BASE_URL/admin/archive" \
+    "" \
+    "$BANKING_AUTH_HEADER1" \
+    "200"
+
+# ===========================
+# STANDING ORDER TESTS
+# ===========================
+
+print_header "Standing Order Tests"
+
+# Test 32: Create Standing Order
+print_header "Test 32: Create Standing Order User 1 to User 2"
+order_response=$(test_endpoint \
+    "Create Standing Order" \
+    "POST" \
+    "$API_BASE_URL/orders" \
+    "{\"to\":\"$BANKING_USERNAME2\",\"amt\":10,\"interval_minutes\":60}" \
+    "$BANKING_AUTH_HEADER1" \
+    "201")
+echo "$order_response"
+order_id=$(echo "$order_response" | grep -o '"id":"[^"]*"' | head -1 | cut -d'"' -f4)
+
+# Test 33: List Standing Orders
+print_header "Test 33: List Standing Orders User 1"
+test_endpoint \
+    "List Standing Orders" \
+    "GET" \
+    "$API_BASE_URL/orders" \
+    "" \
+    "$BANKING_AUTH_HEADER1" \
+    "200"
+
+# Test 34: Cancel Standing Order
+if [ -n "$order_id" ]; then
+    print_header "Test 34: Cancel Standing Order"
+    test_endpoint \
+        "Cancel Standing Order" \
+        "DELETE" \
+        "$API_BASE_URL/orders/$order_id" \
+        "" \
+        "$BANKING_AUTH_HEADER1" \
+        "204"
+else
+    print_error "Failed to extract standing order id"
+fi
+
+# Test 35: Cancel Standing Order of another user
+if [ -n "$order_id" ]; then
+    print_header "Test 35: Cancel Standing Order of Another User (Should Fail)"
+    test_endpoint \
+        "Cancel Other User's Standing Order" \
+        "DELETE" \
+        "$API_BASE_URL/orders/$order_id" \
+        "" \
+        "$BANKING_AUTH_HEADER2" \
+        "404"
+fi
+
+# Test 36: Standing order scheduler stats
+print_header "Test 36: Standing Order Scheduler Stats"
+test_endpoint \
+    "Standing Order Scheduler Stats" \
+    "GET" \
+    "$API_BASE_URL/admin/orders/stats" \
+    "" \
+    "$BANKING_AUTH_HEADER1" \
+    "200"
+
 # ===========================
 # LOGOUT TESTS
 # ===========================
 
 print_header "Logout Tests"
 
-# Test 25: Logout JWT User
+# Test 37: Logout JWT User
 if [ -n "$JWT_AUTH_HEADER" ]; then
-    print_header "Test 25: Logout JWT User"
+    print_header "Test 37: Logout JWT User"
     test_endpoint \
         "Logout JWT User" \
         "POST" \
@@ -423,6 +587,11 @@ echo -e "${YELLOW}Check the output above for any failures.${NC}"
 print_header "Test Summary"
 echo "JWT Authentication: User registration, login, profile access, token refresh, sessions, logout"
 echo "Banking Operations: User registration, funding, payments, balance checking, currency conversion, transaction history"
+echo "Admin: Reconciliation, access control"
+echo "Statements: CBOR encoding"
+echo "Conditional Requests: ETag revalidation of statements"
+echo "Archival: Archiving old transactions"
+echo "Standing Orders: Creation, listing, cancellation, scheduler stats"
 echo "Error Handling: Duplicate registrations, insufficient funds, invalid users, unauthorized access, wrong credentials"
 echo ""
 echo "Key Features Tested:"